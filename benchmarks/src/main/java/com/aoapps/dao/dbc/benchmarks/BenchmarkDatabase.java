@@ -0,0 +1,88 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc.benchmarks;
+
+import com.aoapps.dao.Table;
+import com.aoapps.dao.dbc.DatabaseModel;
+import com.aoapps.dao.dbc.TransactionContext;
+import com.aoapps.dbc.Database;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * An embedded, in-memory H2 database, so benchmarks run offline without any external server.
+ */
+final class BenchmarkDatabase {
+
+  /** Make no instances. */
+  private BenchmarkDatabase() {
+    throw new AssertionError();
+  }
+
+  private static final Logger logger = Logger.getLogger(BenchmarkDatabase.class.getName());
+
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  /**
+   * Creates a new, empty database.  Each call creates a separate in-memory database that lives until
+   * the JVM exits.
+   */
+  static Database newDatabase() {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:benchmark" + nextId.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+    dataSource.setUser("sa");
+    dataSource.setPassword("");
+    return new Database(dataSource, logger);
+  }
+
+  /**
+   * A model over a single database.
+   */
+  static final class Model extends DatabaseModel {
+
+    private final Database database;
+
+    Model(Database database) {
+      this.database = database;
+    }
+
+    Model(TransactionContext transactionContext, Database database) {
+      super(transactionContext);
+      this.database = database;
+    }
+
+    @Override
+    public Database getDatabase() {
+      return database;
+    }
+
+    @Override
+    public Map<String, ? extends Table<?, ?>> getTables() {
+      return Collections.emptyMap();
+    }
+  }
+}
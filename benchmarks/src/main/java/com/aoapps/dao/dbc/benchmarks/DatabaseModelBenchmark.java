@@ -0,0 +1,134 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc.benchmarks;
+
+import com.aoapps.dao.dbc.DatabaseModel;
+import com.aoapps.dao.dbc.TransactionContext;
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of entering {@link DatabaseModel} transactions, both outermost, which select and pin the
+ * database, and nested, which reuse the pinned database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseModelBenchmark {
+
+  private static final int NESTED = 100;
+
+  /**
+   * The strategy used to pin the transaction database.
+   */
+  @Param({"ThreadLocal", "Default"})
+  public String context;
+
+  private DatabaseModel model;
+
+  @Setup
+  public void setup() {
+    Database database = BenchmarkDatabase.newDatabase();
+    switch (context) {
+      case "ThreadLocal":
+        model = new BenchmarkDatabase.Model(database);
+        break;
+      case "Default":
+        model = new BenchmarkDatabase.Model(TransactionContext.newInstance(), database);
+        break;
+      default:
+        throw new IllegalArgumentException("Unexpected context: " + context);
+    }
+  }
+
+  /**
+   * Selects and pins the database, without starting a transaction.
+   */
+  @Benchmark
+  public Object pinOutermost() throws SQLException {
+    return model.callWithDatabase(false, database -> database);
+  }
+
+  /**
+   * Reuses an already pinned database, without starting a transaction.
+   */
+  @Benchmark
+  @OperationsPerInvocation(NESTED)
+  public Object pinNested() throws SQLException {
+    return model.callWithDatabase(false, outer -> {
+      Object last = null;
+      for (int i = 0; i < NESTED; i++) {
+        last = model.callWithDatabase(false, database -> database);
+      }
+      return last;
+    });
+  }
+
+  /**
+   * An outermost transaction that does not use its connection.
+   */
+  @Benchmark
+  public Object transactionOutermost() throws SQLException {
+    return model.transactionCall(db -> db);
+  }
+
+  /**
+   * Nested transactions that do not use their connection.
+   */
+  @Benchmark
+  @OperationsPerInvocation(NESTED)
+  public Object transactionNested() throws SQLException {
+    return model.transactionCall(outer -> {
+      Object last = null;
+      for (int i = 0; i < NESTED; i++) {
+        last = model.transactionCall(db -> db);
+      }
+      return last;
+    });
+  }
+
+  /**
+   * An outermost transaction that executes a trivial query.
+   */
+  @Benchmark
+  public int transactionQuery() throws SQLException {
+    return model.transactionCall(db -> db.queryInt("SELECT 1"));
+  }
+}
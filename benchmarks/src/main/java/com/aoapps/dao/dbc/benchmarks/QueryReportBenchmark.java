@@ -0,0 +1,173 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc.benchmarks;
+
+import com.aoapps.dao.dbc.QueryReport;
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link QueryReport} execution across row counts and column types.  Run with {@code -prof gc}
+ * to see allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryReportBenchmark {
+
+  /**
+   * The number of rows in the report.
+   */
+  @Param({"1", "1000", "100000"})
+  public int rows;
+
+  /**
+   * The SQL type of the four columns of the report.
+   */
+  @Param({"INTEGER", "BIGINT", "DOUBLE PRECISION", "VARCHAR(40)", "INTEGER ARRAY"})
+  public String columnType;
+
+  /**
+   * Whether the results are stored column-wise.
+   */
+  @Param({"false", "true"})
+  public boolean columnar;
+
+  private QueryReport report;
+
+  /**
+   * A report that selects all rows of the benchmark table.
+   */
+  private static final class BenchmarkReport extends QueryReport {
+
+    private final boolean columnar;
+
+    private BenchmarkReport(Database database, boolean columnar) {
+      super(database, "benchmark", "SELECT c1, c2, c3, c4 FROM benchmark");
+      this.columnar = columnar;
+    }
+
+    @Override
+    public String getTitle() {
+      return "Benchmark";
+    }
+
+    @Override
+    public String getDescription() {
+      return "Benchmark";
+    }
+
+    @Override
+    public boolean isColumnar() {
+      return columnar;
+    }
+  }
+
+  @Setup
+  public void setup() throws SQLException {
+    Database database = BenchmarkDatabase.newDatabase();
+    database.transactionRun(db -> {
+      db.update("CREATE TABLE benchmark (c1 " + columnType + ", c2 " + columnType + ", c3 " + columnType + ", c4 " + columnType + ")");
+      String expression;
+      switch (columnType) {
+        case "INTEGER":
+        case "BIGINT":
+        case "DOUBLE PRECISION":
+          expression = "X";
+          break;
+        case "VARCHAR(40)":
+          // Low cardinality text
+          expression = "'value-' || MOD(X, 100)";
+          break;
+        case "INTEGER ARRAY":
+          expression = "ARRAY[X, X + 1, X + 2]";
+          break;
+        default:
+          throw new IllegalArgumentException("Unexpected columnType: " + columnType);
+      }
+      db.update(
+          "INSERT INTO benchmark SELECT " + expression + ", " + expression + ", " + expression + ", " + expression
+              + " FROM SYSTEM_RANGE(1, ?)",
+          rows
+      );
+    });
+    report = new BenchmarkReport(database, columnar);
+  }
+
+  /**
+   * Materializes the entire report.
+   */
+  @Benchmark
+  public Object executeReport() throws SQLException {
+    return report.executeReport(Collections.emptyMap());
+  }
+
+  /**
+   * Streams the report through a cursor, reading every value.
+   */
+  @Benchmark
+  public void streamCursor(Blackhole blackhole) throws SQLException {
+    Map<String, Object> parameterValues = Collections.emptyMap();
+    try (QueryReport.ReportCursor cursor = report.openCursor(parameterValues)) {
+      int numColumns = cursor.getColumns().size();
+      while (cursor.next()) {
+        for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+          blackhole.consume(cursor.getObject(columnIndex));
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads every value of the materialized report.
+   */
+  @Benchmark
+  public void executeReportAndRead(Blackhole blackhole) throws SQLException {
+    List<List<Object>> tableData = report.executeReport(Collections.emptyMap()).getTableData();
+    for (List<Object> row : tableData) {
+      for (Object value : row) {
+        blackhole.consume(value);
+      }
+    }
+  }
+}
@@ -0,0 +1,398 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Converts SQL arrays to unmodifiable lists.  The Java array returned by {@link Array#getArray()}
+ * is wrapped as a list view without copying, including primitive arrays, which are boxed as
+ * elements are accessed.  Nested arrays, from multi-dimensional SQL arrays, become nested lists.
+ */
+final class ArrayLists {
+
+  /** Make no instances. */
+  private ArrayLists() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Converts a SQL array to an unmodifiable list, freeing the array.
+   */
+  static List<Object> toList(Array array) throws SQLException {
+    try {
+      Object elements;
+      try {
+        elements = array.getArray();
+      } catch (SQLFeatureNotSupportedException e) {
+        elements = null;
+      }
+      if (elements != null) {
+        return asList(elements);
+      }
+      // Driver does not provide the Java array, read through the result set instead
+      List<Object> values = new ArrayList<>();
+      try (ResultSet arrayResults = array.getResultSet()) {
+        while (arrayResults.next()) {
+          Object value = arrayResults.getObject(2);
+          values.add(value instanceof Array ? toList((Array) value) : value);
+        }
+      }
+      return Collections.unmodifiableList(values);
+    } finally {
+      array.free();
+    }
+  }
+
+  /**
+   * Wraps a Java array as an unmodifiable list, without copying.
+   *
+   * @throws  IllegalArgumentException  when not an array
+   */
+  static List<Object> asList(Object array) {
+    if (array instanceof Object[]) {
+      Object[] objects = (Object[]) array;
+      if (objects.length == 0) {
+        return Collections.emptyList();
+      }
+      if (objects.getClass().getComponentType().isArray()) {
+        // Multi-dimensional: only the outer dimension is copied
+        Object[] lists = new Object[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+          Object nested = objects[i];
+          lists[i] = nested == null ? null : asList(nested);
+        }
+        objects = lists;
+      }
+      return new ObjectList(objects);
+    }
+    if (array instanceof int[]) {
+      return new IntList((int[]) array);
+    }
+    if (array instanceof long[]) {
+      return new LongList((long[]) array);
+    }
+    if (array instanceof double[]) {
+      return new DoubleList((double[]) array);
+    }
+    if (array instanceof float[]) {
+      return new FloatList((float[]) array);
+    }
+    if (array instanceof short[]) {
+      return new ShortList((short[]) array);
+    }
+    if (array instanceof boolean[]) {
+      return new BooleanList((boolean[]) array);
+    }
+    if (array instanceof char[]) {
+      return new CharList((char[]) array);
+    }
+    // byte[] is a value of its own, such as bytea, and is not expected as an array
+    throw new IllegalArgumentException("Not an array: " + (array == null ? null : array.getClass().getName()));
+  }
+
+  /**
+   * A list view over a Java array.
+   */
+  abstract static class ArrayView extends AbstractList<Object> implements RandomAccess {
+
+    /**
+     * Estimates the number of bytes of heap used by the array, including any elements.
+     */
+    abstract long getEstimatedSize();
+  }
+
+  private static final class ObjectList extends ArrayView {
+
+    private final Object[] values;
+
+    private ObjectList(Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Object get(int index) {
+      Object value = values[index];
+      if (value != null && value.getClass().isArray() && !(value instanceof byte[])) {
+        // Nested array in an Object[]
+        value = asList(value);
+      }
+      return value;
+    }
+
+    @Override
+    long getEstimatedSize() {
+      long estimate = 16 + 4L * values.length;
+      for (int i = 0; i < values.length; i++) {
+        estimate += ReportSizes.estimateSize(get(i));
+      }
+      return estimate;
+    }
+  }
+
+  private static final class IntList extends ArrayView {
+
+    private final int[] values;
+
+    private IntList(int[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 4L * values.length;
+    }
+  }
+
+  private static final class LongList extends ArrayView {
+
+    private final long[] values;
+
+    private LongList(long[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Long get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 8L * values.length;
+    }
+  }
+
+  private static final class DoubleList extends ArrayView {
+
+    private final double[] values;
+
+    private DoubleList(double[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Double get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 8L * values.length;
+    }
+  }
+
+  private static final class FloatList extends ArrayView {
+
+    private final float[] values;
+
+    private FloatList(float[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Float get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 4L * values.length;
+    }
+  }
+
+  private static final class ShortList extends ArrayView {
+
+    private final short[] values;
+
+    private ShortList(short[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Short get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 2L * values.length;
+    }
+  }
+
+  private static final class BooleanList extends ArrayView {
+
+    private final boolean[] values;
+
+    private BooleanList(boolean[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Boolean get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16L + values.length;
+    }
+  }
+
+  private static final class CharList extends ArrayView {
+
+    private final char[] values;
+
+    private CharList(char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Character get(int index) {
+      return values[index];
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 16 + 2L * values.length;
+    }
+  }
+
+  /**
+   * Defers reading a SQL array until the list is first accessed.
+   * The array must be read before it is {@linkplain #free() freed} by its cursor.
+   */
+  static final class LazyList extends AbstractList<Object> implements RandomAccess {
+
+    /**
+     * The estimated size of an array not yet read, which is not known without reading it.
+     */
+    private static final long DEFERRED_SIZE = 64;
+
+    private Array array;
+    private List<Object> list;
+
+    LazyList(Array array) {
+      this.array = array;
+    }
+
+    private synchronized List<Object> getList() {
+      if (list == null) {
+        if (array == null) {
+          throw new IllegalStateException("Deferred array freed: must be read before its cursor moves or is closed");
+        }
+        Array toRead = array;
+        array = null;
+        try {
+          // Frees the array
+          list = toList(toRead);
+        } catch (SQLException e) {
+          throw new IllegalStateException("Unable to read deferred array", e);
+        }
+      }
+      return list;
+    }
+
+    /**
+     * Frees the array when not yet read.  Once freed, accessing an unread list throws {@link IllegalStateException}.
+     */
+    synchronized void free() throws SQLException {
+      if (array != null) {
+        Array toFree = array;
+        array = null;
+        toFree.free();
+      }
+    }
+
+    /**
+     * Estimates the heap used, without reading the array.
+     */
+    synchronized long getEstimatedSize() {
+      return list == null ? DEFERRED_SIZE : ReportSizes.estimateSize(list);
+    }
+
+    @Override
+    public int size() {
+      return getList().size();
+    }
+
+    @Override
+    public Object get(int index) {
+      return getList().get(index);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import com.aoapps.dbc.DatabaseCallable;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A transaction running on another thread.  Cancelling, or timing out, interrupts the running thread,
+ * and a transaction that has not yet committed is rolled back.  Once the transaction has started to commit,
+ * it can no longer be cancelled or timed-out, so a cancelled future never has a committed transaction.
+ *
+ * <p>When started from within a transaction, the new transaction is pinned to the same database,
+ * but is a separate transaction on its own connection.</p>
+ *
+ * @see  DatabaseModel#transactionCallAsync(com.aoapps.dbc.DatabaseCallable)
+ */
+final class AsyncTransaction<V> extends CompletableFuture<V> implements Runnable {
+
+  private static class DefaultExecutorLazy {
+    private static final Executor defaultExecutor = VirtualThreads.newExecutor(AsyncTransaction.class.getName());
+  }
+
+  private static class TimeoutSchedulerLazy {
+    private static final ScheduledExecutorService timeoutScheduler;
+
+    static {
+      ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName(AsyncTransaction.class.getName() + "-timeout");
+        thread.setDaemon(true);
+        return thread;
+      });
+      scheduler.setRemoveOnCancelPolicy(true);
+      timeoutScheduler = scheduler;
+    }
+  }
+
+  /**
+   * Gets the executor used when none is provided.
+   */
+  static Executor getDefaultExecutor() {
+    return DefaultExecutorLazy.defaultExecutor;
+  }
+
+  /**
+   * Starts a new transaction.
+   *
+   * @param  timeout  the time limit or {@code 0} for none
+   */
+  static <V> AsyncTransaction<V> start(
+      DatabaseModel model,
+      boolean readOnly,
+      Executor executor,
+      long timeout,
+      TimeUnit unit,
+      DatabaseCallable<? extends V> callable
+  ) {
+    // Stay on the database of the calling thread's transaction, if any
+    Database pinned = model.transactionContext.getDatabase();
+    AsyncTransaction<V> transaction = new AsyncTransaction<>(model, pinned, readOnly, callable);
+    if (timeout > 0) {
+      ScheduledFuture<?> timer = TimeoutSchedulerLazy.timeoutScheduler.schedule(
+          () -> transaction.timeout(timeout, unit),
+          timeout,
+          unit
+      );
+      transaction.whenComplete((result, t) -> timer.cancel(false));
+    }
+    try {
+      executor.execute(transaction);
+    } catch (RejectedExecutionException e) {
+      transaction.completeExceptionally(e);
+    }
+    return transaction;
+  }
+
+  private final DatabaseModel model;
+  private final Database pinned;
+  private final boolean readOnly;
+  private final DatabaseCallable<? extends V> callable;
+
+  /**
+   * The state shared by the commit and the cancel or timeout, so only one of them happens.
+   */
+  private enum State {
+    /**
+     * The transaction may still be cancelled, after which it will be rolled back.
+     */
+    RUNNING,
+
+    /**
+     * The task has completed and the transaction is committing or committed.  Cancelling has no effect.
+     */
+    COMMITTING,
+
+    /**
+     * Cancelled or timed-out, so the transaction will be rolled back.
+     */
+    CANCELLED
+  }
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.RUNNING);
+
+  private final Object lock = new Object();
+  private Thread runner;
+
+  private AsyncTransaction(
+      DatabaseModel model,
+      Database pinned,
+      boolean readOnly,
+      DatabaseCallable<? extends V> callable
+  ) {
+    this.model = model;
+    this.pinned = pinned;
+    this.readOnly = readOnly;
+    this.callable = callable;
+  }
+
+  @Override
+  @SuppressWarnings("UseSpecificCatch")
+  public void run() {
+    if (isDone()) {
+      // Cancelled or timed-out before started
+      return;
+    }
+    synchronized (lock) {
+      runner = Thread.currentThread();
+    }
+    try {
+      DatabaseCallable<V> checked = db -> {
+        // A retry only follows a failed commit, so may be cancelled again
+        state.compareAndSet(State.COMMITTING, State.RUNNING);
+        V result = callable.call(db);
+        if (!state.compareAndSet(State.RUNNING, State.COMMITTING)) {
+          // Roll back instead of committing
+          throw new SQLException(new CancellationException("Transaction cancelled or timed-out before commit"));
+        }
+        return result;
+      };
+      if (pinned != null) {
+        complete(model.executeOutermost(pinned, readOnly, db -> db.transactionCall(checked)));
+      } else if (readOnly) {
+        complete(model.readOnlyTransactionCall(checked));
+      } else {
+        complete(model.transactionCall(checked));
+      }
+    } catch (Throwable t) {
+      completeExceptionally(t);
+    } finally {
+      synchronized (lock) {
+        runner = null;
+        // Clear any interrupt from cancellation, so it does not affect the next task of a pooled thread
+        Thread.interrupted();
+      }
+    }
+  }
+
+  private void interruptRunner() {
+    synchronized (lock) {
+      if (runner != null) {
+        runner.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Cancels the transaction.  When {@code mayInterruptIfRunning}, the thread running the transaction
+   * is interrupted.  Either way, the transaction is rolled back.
+   *
+   * @return  {@code false} once the transaction has started to commit
+   */
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    if (!state.compareAndSet(State.RUNNING, State.CANCELLED)) {
+      // Committing, or already cancelled or timed-out
+      return isCancelled();
+    }
+    boolean cancelled = super.cancel(mayInterruptIfRunning);
+    if (cancelled && mayInterruptIfRunning) {
+      interruptRunner();
+    }
+    return cancelled;
+  }
+
+  private void timeout(long timeout, TimeUnit unit) {
+    if (
+        state.compareAndSet(State.RUNNING, State.CANCELLED)
+        && completeExceptionally(new SQLTimeoutException("Transaction timed-out after " + timeout + " " + unit))
+    ) {
+      interruptRunner();
+    }
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.DatabaseConnection;
+import com.aoapps.lang.util.ErrorPrinter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates parameterized updates within a transaction, executing them in JDBC batches
+ * to avoid a round-trip per row.  A prepared statement is kept for each distinct SQL text.
+ *
+ * <p>Pending updates are executed grouped by SQL text, in the order each SQL text was first added.
+ * All pending updates are executed once any SQL text reaches the batch size, when {@link #flush()}
+ * is called, and when closed.  Call {@link #flush()} explicitly where the order between different
+ * SQL texts matters, such as a delete that must precede an insert.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @see  DatabaseModel#batchRun(int, com.aoapps.dao.dbc.BatchUpdate.BatchRunnable)
+ */
+public final class BatchUpdate implements AutoCloseable {
+
+  /**
+   * Adds updates to a batch.
+   */
+  @FunctionalInterface
+  public interface BatchRunnable {
+
+    /**
+     * Adds updates to the given batch, which is flushed before the transaction commits.
+     */
+    void run(BatchUpdate batch) throws SQLException;
+  }
+
+  /**
+   * Receives the update counts of each executed batch.
+   */
+  @FunctionalInterface
+  public interface UpdateCountsHandler {
+
+    /**
+     * Called after each batch is executed.
+     *
+     * @param  sql           the SQL text of the batch
+     * @param  updateCounts  the update count of each row, in the order added, as returned by
+     *                       {@link Statement#executeBatch()}, which may be {@link Statement#SUCCESS_NO_INFO}
+     */
+    void handleUpdateCounts(String sql, int[] updateCounts) throws SQLException;
+  }
+
+  /**
+   * The default number of rows per batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final DatabaseConnection db;
+  private final int batchSize;
+  private final UpdateCountsHandler handler;
+
+  /**
+   * The statement for each SQL text, in the order first added.
+   */
+  private final Map<String, PendingStatement> statements = new LinkedHashMap<>();
+
+  private long updateCount;
+  private boolean closed;
+
+  private static final class PendingStatement {
+
+    private final PreparedStatement pstmt;
+    private int pending;
+
+    private PendingStatement(PreparedStatement pstmt) {
+      this.pstmt = pstmt;
+    }
+  }
+
+  /**
+   * Creates a new batch on the current connection of the given transaction.
+   *
+   * @param  batchSize  the number of rows per batch
+   * @param  handler    the optional handler of update counts
+   */
+  public BatchUpdate(DatabaseConnection db, int batchSize, UpdateCountsHandler handler) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize < 1: " + batchSize);
+    }
+    this.db = db;
+    this.batchSize = batchSize;
+    this.handler = handler;
+  }
+
+  /**
+   * Creates a new batch on the current connection of the given transaction.
+   *
+   * @param  batchSize  the number of rows per batch
+   */
+  public BatchUpdate(DatabaseConnection db, int batchSize) {
+    this(db, batchSize, null);
+  }
+
+  /**
+   * Gets the number of rows per batch.
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Adds an update to the batch.
+   *
+   * @param  params  the parameters, set as by {@link DatabaseConnection#update(java.lang.String, java.lang.Object...)}
+   */
+  @SuppressWarnings("UseSpecificCatch")
+  public void add(String sql, Object... params) throws SQLException {
+    if (closed) {
+      throw new SQLException("Batch closed");
+    }
+    PendingStatement statement = statements.get(sql);
+    if (statement == null) {
+      Connection conn = db.getConnection();
+      statement = new PendingStatement(conn.prepareStatement(sql));
+      statements.put(sql, statement);
+    }
+    PreparedStatement pstmt = statement.pstmt;
+    try {
+      DatabaseConnection.setParams(db.getConnection(), pstmt, params);
+      pstmt.addBatch();
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, pstmt);
+      throw e;
+    }
+    if (++statement.pending >= batchSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Executes all pending updates.
+   */
+  public void flush() throws SQLException {
+    for (Map.Entry<String, PendingStatement> entry : statements.entrySet()) {
+      PendingStatement statement = entry.getValue();
+      if (statement.pending > 0) {
+        PreparedStatement pstmt = statement.pstmt;
+        int[] updateCounts;
+        try {
+          updateCounts = pstmt.executeBatch();
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, pstmt);
+          throw e;
+        } finally {
+          statement.pending = 0;
+        }
+        for (int count : updateCounts) {
+          if (count > 0) {
+            updateCount += count;
+          }
+        }
+        if (handler != null) {
+          handler.handleUpdateCounts(entry.getKey(), updateCounts);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the total number of rows updated by the batches executed so far.  Rows reported as
+   * {@link Statement#SUCCESS_NO_INFO} are not counted.
+   */
+  public long getUpdateCount() {
+    return updateCount;
+  }
+
+  /**
+   * Executes all pending updates then closes the statements.
+   */
+  @Override
+  public void close() throws SQLException {
+    if (!closed) {
+      try {
+        flush();
+      } finally {
+        closeStatements();
+      }
+    }
+  }
+
+  /**
+   * Closes the statements, discarding any pending updates.
+   */
+  @SuppressWarnings("UseSpecificCatch")
+  void closeStatements() throws SQLException {
+    if (!closed) {
+      closed = true;
+      Throwable t0 = null;
+      Iterator<PendingStatement> iter = statements.values().iterator();
+      while (iter.hasNext()) {
+        PreparedStatement pstmt = iter.next().pstmt;
+        iter.remove();
+        try {
+          pstmt.close();
+        } catch (Throwable t) {
+          if (t0 == null) {
+            t0 = t;
+          } else {
+            t0.addSuppressed(t);
+          }
+        }
+      }
+      if (t0 != null) {
+        if (t0 instanceof Error) {
+          throw (Error) t0;
+        }
+        if (t0 instanceof RuntimeException) {
+          throw (RuntimeException) t0;
+        }
+        if (t0 instanceof SQLException) {
+          throw (SQLException) t0;
+        }
+        throw new SQLException(t0);
+      }
+    }
+  }
+}
@@ -0,0 +1,545 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Table data stored column-wise, with numeric columns in primitive arrays and
+ * low-cardinality text columns dictionary-encoded.  Rows are presented as lightweight,
+ * unmodifiable views that are created on access.
+ *
+ * <p>The storage of each column is chosen by the class of its values, not its SQL type, so each value
+ * is returned as the same class and value as in a list of rows.  For example, a {@code SMALLINT} may be
+ * a {@link Short} and an unsigned {@code INTEGER} may be a {@link Long}, depending on the driver.</p>
+ *
+ * @see  QueryReport#isColumnar()
+ */
+final class ColumnarTableData extends AbstractList<List<Object>> implements RandomAccess {
+
+  /**
+   * The initial capacity of each column.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Text columns fall back to storing the strings directly once their dictionary exceeds this size.
+   */
+  private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  /**
+   * The storage for a single column.
+   */
+  abstract static class Column {
+
+    /**
+     * Adds the value of the current row of the result set.
+     */
+    abstract void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException;
+
+    /**
+     * Adds a value that has already been read.
+     */
+    abstract void add(Object value);
+
+    /**
+     * Gets the value at the given row, boxing as needed.
+     */
+    abstract Object get(int row);
+
+    /**
+     * Releases any excess capacity once all rows have been added.
+     */
+    abstract void trimToSize(int size);
+
+    /**
+     * Estimates the number of bytes of heap used by this column.
+     */
+    abstract long getEstimatedSize();
+
+    /**
+     * Creates the most compact storage for values of the given class.
+     *
+     * @param  className  the class name of the values, or {@code null} when unknown
+     *
+     * @see  java.sql.ResultSetMetaData#getColumnClassName(int)
+     */
+    static Column newInstance(String className) {
+      if (Integer.class.getName().equals(className)) {
+        return new IntColumn();
+      } else if (Long.class.getName().equals(className)) {
+        return new LongColumn();
+      } else if (Double.class.getName().equals(className)) {
+        return new DoubleColumn();
+      } else if (String.class.getName().equals(className)) {
+        return new StringColumn();
+      } else {
+        return new ObjectColumn();
+      }
+    }
+  }
+
+  private static final class IntColumn extends Column {
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    @Override
+    void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException {
+      ResultSet results = cursor.getResultSet();
+      try {
+        int value = results.getInt(columnIndex);
+        if (results.wasNull()) {
+          nulls.set(size);
+        }
+        addInt(value);
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+    }
+
+    @Override
+    void add(Object value) {
+      if (value == null) {
+        nulls.set(size);
+        addInt(0);
+      } else {
+        addInt((Integer) value);
+      }
+    }
+
+    private void addInt(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size << 1);
+      }
+      values[size++] = value;
+    }
+
+    @Override
+    Object get(int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    void trimToSize(int size) {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 4L * values.length + (nulls.size() >> 3);
+    }
+  }
+
+  private static final class LongColumn extends Column {
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    @Override
+    void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException {
+      ResultSet results = cursor.getResultSet();
+      try {
+        long value = results.getLong(columnIndex);
+        if (results.wasNull()) {
+          nulls.set(size);
+        }
+        addLong(value);
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+    }
+
+    @Override
+    void add(Object value) {
+      if (value == null) {
+        nulls.set(size);
+        addLong(0);
+      } else {
+        addLong((Long) value);
+      }
+    }
+
+    private void addLong(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size << 1);
+      }
+      values[size++] = value;
+    }
+
+    @Override
+    Object get(int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    void trimToSize(int size) {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 8L * values.length + (nulls.size() >> 3);
+    }
+  }
+
+  private static final class DoubleColumn extends Column {
+
+    private double[] values = new double[INITIAL_CAPACITY];
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    @Override
+    void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException {
+      ResultSet results = cursor.getResultSet();
+      try {
+        double value = results.getDouble(columnIndex);
+        if (results.wasNull()) {
+          nulls.set(size);
+        }
+        addDouble(value);
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+    }
+
+    @Override
+    void add(Object value) {
+      if (value == null) {
+        nulls.set(size);
+        addDouble(0);
+      } else {
+        addDouble((Double) value);
+      }
+    }
+
+    private void addDouble(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size << 1);
+      }
+      values[size++] = value;
+    }
+
+    @Override
+    Object get(int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    void trimToSize(int size) {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long getEstimatedSize() {
+      return 8L * values.length + (nulls.size() >> 3);
+    }
+  }
+
+  /**
+   * Dictionary-encodes strings until the dictionary becomes too large,
+   * then stores the remaining values directly.
+   */
+  private static final class StringColumn extends Column {
+
+    private Map<String, Integer> codes = new HashMap<>();
+    private String[] dictionary = new String[INITIAL_CAPACITY];
+    private int dictionarySize;
+    /**
+     * The dictionary code for each row, {@code -1} for {@code null}.
+     */
+    private int[] rowCodes = new int[INITIAL_CAPACITY];
+    /**
+     * Once the dictionary is too large, the values are stored here directly.
+     */
+    private String[] values;
+    private int size;
+
+    @Override
+    void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException {
+      String value;
+      try {
+        value = cursor.getResultSet().getString(columnIndex);
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+      add(value);
+    }
+
+    @Override
+    void add(Object value) {
+      String str = (String) value;
+      if (values == null) {
+        int code;
+        if (str == null) {
+          code = -1;
+        } else {
+          Integer existing = codes.get(str);
+          if (existing != null) {
+            code = existing;
+          } else if (dictionarySize < MAX_DICTIONARY_SIZE) {
+            code = dictionarySize;
+            if (code == dictionary.length) {
+              dictionary = Arrays.copyOf(dictionary, code << 1);
+            }
+            dictionary[dictionarySize++] = str;
+            codes.put(str, code);
+          } else {
+            decode();
+            add(str);
+            return;
+          }
+        }
+        if (size == rowCodes.length) {
+          rowCodes = Arrays.copyOf(rowCodes, size << 1);
+        }
+        rowCodes[size++] = code;
+      } else {
+        if (size == values.length) {
+          values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = str;
+      }
+    }
+
+    /**
+     * Switches from dictionary encoding to direct storage.
+     */
+    private void decode() {
+      String[] newValues = new String[Math.max(INITIAL_CAPACITY, size << 1)];
+      for (int row = 0; row < size; row++) {
+        int code = rowCodes[row];
+        newValues[row] = code == -1 ? null : dictionary[code];
+      }
+      values = newValues;
+      codes = null;
+      dictionary = null;
+      rowCodes = null;
+    }
+
+    @Override
+    Object get(int row) {
+      if (values != null) {
+        return values[row];
+      }
+      int code = rowCodes[row];
+      return code == -1 ? null : dictionary[code];
+    }
+
+    @Override
+    void trimToSize(int size) {
+      if (values == null) {
+        codes = null;
+        dictionary = Arrays.copyOf(dictionary, dictionarySize);
+        rowCodes = Arrays.copyOf(rowCodes, size);
+      } else {
+        values = Arrays.copyOf(values, size);
+      }
+    }
+
+    @Override
+    long getEstimatedSize() {
+      if (values == null) {
+        long estimate = 4L * rowCodes.length;
+        for (int i = 0; i < dictionarySize; i++) {
+          estimate += ReportSizes.estimateSize(dictionary[i]);
+        }
+        return estimate;
+      } else {
+        long estimate = 4L * values.length;
+        for (int row = 0; row < size; row++) {
+          estimate += ReportSizes.estimateSize(values[row]);
+        }
+        return estimate;
+      }
+    }
+  }
+
+  private static final class ObjectColumn extends Column {
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    void add(QueryReport.ReportCursor cursor, int columnIndex) throws SQLException {
+      add(cursor.getObject(columnIndex));
+    }
+
+    @Override
+    void add(Object value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size << 1);
+      }
+      values[size++] = value;
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+
+    @Override
+    void trimToSize(int size) {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long getEstimatedSize() {
+      long estimate = 4L * values.length;
+      for (int row = 0; row < size; row++) {
+        estimate += ReportSizes.estimateSize(values[row]);
+      }
+      return estimate;
+    }
+  }
+
+  /**
+   * Accumulates rows into columnar storage.
+   */
+  static final class Builder {
+
+    private final Column[] columns;
+    private int size;
+
+    /**
+     * @param  columnClassNames  the class name of the values of each column
+     */
+    Builder(List<String> columnClassNames) {
+      int numColumns = columnClassNames.size();
+      this.columns = new Column[numColumns];
+      for (int i = 0; i < numColumns; i++) {
+        this.columns[i] = Column.newInstance(columnClassNames.get(i));
+      }
+    }
+
+    /**
+     * Adds the current row of the cursor.
+     */
+    void addRow(QueryReport.ReportCursor cursor) throws SQLException {
+      for (int i = 0; i < columns.length; i++) {
+        columns[i].add(cursor, i + 1);
+      }
+      size++;
+    }
+
+    /**
+     * Adds a row of values that have already been read.
+     */
+    void addRow(List<?> row) {
+      for (int i = 0; i < columns.length; i++) {
+        columns[i].add(row.get(i));
+      }
+      size++;
+    }
+
+    /**
+     * Estimates the number of bytes of heap used by the rows added so far.
+     */
+    long getEstimatedSize() {
+      long estimate = 0;
+      for (Column column : columns) {
+        estimate += column.getEstimatedSize();
+      }
+      return estimate;
+    }
+
+    /**
+     * Builds the table data.  The builder must not be used after this call.
+     */
+    ColumnarTableData build() {
+      for (Column column : columns) {
+        column.trimToSize(size);
+      }
+      return new ColumnarTableData(columns, size);
+    }
+  }
+
+  private final Column[] columns;
+  private final int size;
+
+  private ColumnarTableData(Column[] columns, int size) {
+    this.columns = columns;
+    this.size = size;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public List<Object> get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+    return new Row(index);
+  }
+
+  /**
+   * Estimates the number of bytes of heap used by this table data.
+   */
+  long getEstimatedSize() {
+    long estimate = 0;
+    for (Column column : columns) {
+      estimate += column.getEstimatedSize();
+    }
+    return estimate;
+  }
+
+  /**
+   * A view of a single row.
+   */
+  private final class Row extends AbstractList<Object> implements RandomAccess {
+
+    private final int row;
+
+    private Row(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public int size() {
+      return columns.length;
+    }
+
+    @Override
+    public Object get(int index) {
+      return columns[index].get(row);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
- * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,6 +24,7 @@
 package com.aoapps.dao.dbc;
 
 import com.aoapps.dao.base.AbstractModel;
+import com.aoapps.dao.dbc.TransactionContext.PinnedCallable;
 import com.aoapps.dbc.Database;
 import com.aoapps.dbc.DatabaseCallable;
 import com.aoapps.dbc.DatabaseCallableE;
@@ -32,12 +33,20 @@ import com.aoapps.dbc.DatabaseRunnableE;
 import com.aoapps.lang.RunnableE;
 import com.aoapps.lang.concurrent.CallableE;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A base implementation of <code>DaoDatabase</code>.
  */
 public abstract class DatabaseModel extends AbstractModel {
 
+  private static final Logger logger = Logger.getLogger(DatabaseModel.class.getName());
+
   /**
    * Gets the underlying database that should be used at this moment in time.
    * It is possible that the database will change in a fail-over state.
@@ -50,32 +59,300 @@ public abstract class DatabaseModel extends AbstractModel {
    * Uses a {@link ThreadLocal} to make sure an entire transaction is executed against the same
    * underlying database.  This way, nothing funny will happen if master/slave databases
    * are switched mid-transaction.
+   *
+   * @deprecated  Only used by the default, thread-local {@link #transactionContext}.
+   *              Please use {@link #transactionContext}, which works with any strategy.
    */
+  @Deprecated
   protected final ThreadLocal<Database> transactionDatabase = new ThreadLocal<>();
 
   /**
-   * {@inheritDoc}
+   * Makes sure an entire transaction is executed against the same underlying database.
+   * This way, nothing funny will happen if master/slave databases are switched mid-transaction.
+   */
+  protected final TransactionContext transactionContext;
+
+  private volatile TransactionListener transactionListener;
+
+  private volatile RetryPolicy retryPolicy;
+
+  /**
+   * Creates a new model that pins the transaction database in {@link #transactionDatabase}.
+   */
+  protected DatabaseModel() {
+    transactionContext = new ThreadLocalTransactionContext(transactionDatabase);
+  }
+
+  /**
+   * Creates a new model with the given strategy for pinning the transaction database.
    *
-   * @see  Database#transactionCall(com.aoapps.lang.concurrent.CallableE)
+   * @see  TransactionContext#newInstance()
    */
-  @Override
-  public <V> V transactionCall(CallableE<? extends V, ? extends SQLException> callable) throws SQLException {
-    Database database = transactionDatabase.get();
+  protected DatabaseModel(TransactionContext transactionContext) {
+    this.transactionContext = transactionContext;
+  }
+
+  /**
+   * Gets the listener notified of each transaction.
+   *
+   * @return  the listener or {@code null} when none
+   */
+  public TransactionListener getTransactionListener() {
+    return transactionListener;
+  }
+
+  /**
+   * Sets the listener notified of each transaction, such as {@link TransactionMetrics}.  There is
+   * negligible overhead when no listener is set.
+   *
+   * <p>Only the transactions of this model are observed, not other tasks that only
+   * {@linkplain #callWithDatabase(boolean, com.aoapps.dao.dbc.TransactionContext.PinnedCallable) use its database},
+   * such as report executions.</p>
+   *
+   * @param  transactionListener  the listener or {@code null} for none
+   */
+  public void setTransactionListener(TransactionListener transactionListener) {
+    this.transactionListener = transactionListener;
+  }
+
+  /**
+   * Gets the policy for retrying outermost transactions that fail from contention.
+   *
+   * @return  the policy or {@code null} when failures are not retried
+   */
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Sets the policy for retrying outermost transactions that fail from contention, such as serialization failures
+   * and deadlocks.  The entire outermost task is executed again, against the same database, so any effects outside
+   * of the database must be safe to repeat.  Nested tasks are never retried.
+   *
+   * @param  retryPolicy  the policy or {@code null} to not retry failures, which is the default
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Gets the underlying database that should be used for read-only transactions at this moment in time.
+   * This may be a replica of {@link #getDatabase()}.  Within a single transaction, however, the database
+   * returned must be the same.
+   *
+   * <p>This default implementation calls {@link #getDatabase()}.</p>
+   *
+   * @see  #readOnlyTransactionCall(com.aoapps.dbc.DatabaseCallable)
+   * @see  #readOnlyTransactionRun(com.aoapps.dbc.DatabaseRunnable)
+   */
+  public Database getReadOnlyDatabase() throws SQLException {
+    return getDatabase();
+  }
+
+  /**
+   * Gets the database of the current transaction, if any.  Otherwise, gets the database that
+   * should be used at this moment in time.
+   *
+   * @param  readOnly  when not in a transaction, selects from {@link #getReadOnlyDatabase()}
+   *                   instead of {@link #getDatabase()}
+   */
+  public Database selectDatabase(boolean readOnly) throws SQLException {
+    Database database = transactionContext.getDatabase();
+    if (database == null) {
+      database = readOnly ? getReadOnlyDatabase() : getDatabase();
+    }
+    return database;
+  }
+
+  /**
+   * Checks if the current thread is in a transaction of this model.
+   */
+  boolean isInTransaction() {
+    Database database = transactionContext.getDatabase();
+    return database != null && database.isInTransaction();
+  }
+
+  /**
+   * Executes the task against the database of the current transaction, if any.  Otherwise,
+   * gets the database and pins it for the duration of the task.  The task is responsible for
+   * starting any transaction on the database.
+   *
+   * <p>The task is not a transaction of this model, so the {@linkplain #getTransactionListener() transaction listener}
+   * is not notified.</p>
+   *
+   * @param  readOnly  when not in a transaction, selects from {@link #getReadOnlyDatabase()}
+   *                   instead of {@link #getDatabase()}
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @see  #executeOutermost(com.aoapps.dbc.Database, boolean, com.aoapps.dao.dbc.TransactionContext.PinnedCallable)
+   */
+  public <V, Ex extends Throwable> V callWithDatabase(
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    return callWithDatabase(readOnly, null, callable);
+  }
+
+  /**
+   * Executes a transaction of this model, notifying the {@linkplain #getTransactionListener() transaction listener}.
+   *
+   * @see  #callWithDatabase(boolean, com.aoapps.dao.dbc.TransactionContext.PinnedCallable)
+   */
+  private <V, Ex extends Throwable> V transactionWithDatabase(
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    return callWithDatabase(readOnly, transactionListener, callable);
+  }
+
+  /**
+   * Executes the task against the database of the current transaction, if any, or the selected database otherwise.
+   *
+   * @param  listener  the listener to notify or {@code null} for none
+   */
+  private <V, Ex extends Throwable> V callWithDatabase(
+      boolean readOnly,
+      TransactionListener listener,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    Database database = transactionContext.getDatabase();
     if (database != null) {
       // Reuse current database
-      return database.transactionCall(callable);
+      if (listener == null) {
+        return callable.call(database);
+      }
+      listener.nestedStarted(database);
+      long startNanos = System.nanoTime();
+      Throwable failure = null;
+      try {
+        return callable.call(database);
+      } catch (Throwable t) {
+        failure = t;
+        throw t;
+      } finally {
+        listener.nestedCompleted(database, System.nanoTime() - startNanos, failure);
+      }
     } else {
       // Get database
-      database = getDatabase();
+      if (listener == null) {
+        return executeOutermostWithRetry(readOnly ? getReadOnlyDatabase() : getDatabase(), readOnly, callable);
+      }
+      long selectNanos = System.nanoTime();
+      database = readOnly ? getReadOnlyDatabase() : getDatabase();
+      long startNanos = System.nanoTime();
+      listener.outermostStarted(database, readOnly, startNanos - selectNanos);
+      Throwable failure = null;
       try {
-        transactionDatabase.set(database);
-        return database.transactionCall(callable);
+        return executeOutermostWithRetry(database, readOnly, callable);
+      } catch (Throwable t) {
+        failure = t;
+        throw t;
       } finally {
-        transactionDatabase.remove();
+        listener.outermostCompleted(database, readOnly, System.nanoTime() - startNanos, failure);
       }
     }
   }
 
+  /**
+   * Executes the outermost task, retrying according to the {@linkplain #getRetryPolicy() retry policy}.
+   * Tasks within a transaction started directly on the database, outside of this model, are not retried.
+   */
+  private <V, Ex extends Throwable> V executeOutermostWithRetry(
+      Database database,
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    RetryPolicy policy = retryPolicy;
+    if (policy == null || database.isInTransaction()) {
+      return executeOutermost(database, readOnly, callable);
+    }
+    int maxAttempts = policy.getMaxAttempts();
+    int attempt = 1;
+    while (true) {
+      try {
+        V result = executeOutermost(database, readOnly, callable);
+        if (attempt > 1) {
+          policy.recovered();
+        }
+        return result;
+      } catch (SQLException e) {
+        if (!policy.isRetryable(e)) {
+          throw e;
+        }
+        if (attempt >= maxAttempts) {
+          policy.exhausted();
+          throw e;
+        }
+        long backoffNanos = policy.getBackoffNanos(attempt);
+        if (logger.isLoggable(Level.FINE)) {
+          logger.log(
+              Level.FINE,
+              "Retrying transaction after attempt " + attempt + " of " + maxAttempts
+                  + " in " + TimeUnit.NANOSECONDS.toMillis(backoffNanos) + " ms",
+              e
+          );
+        }
+        if (backoffNanos > 0) {
+          try {
+            TimeUnit.NANOSECONDS.sleep(backoffNanos);
+          } catch (InterruptedException ie) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+            e.addSuppressed(ie);
+            throw e;
+          }
+        }
+        policy.retried();
+        attempt++;
+      }
+    }
+  }
+
+  /**
+   * Calls the completion once the result of an outermost task no longer uses its database.
+   * A {@linkplain QueryReport.ReportCursor report cursor} keeps its connection until closed, so is
+   * completed when closed.  Any other result is completed immediately.
+   *
+   * @param  completion  receives the failure of the result or {@code null} when it completed normally
+   *
+   * @see  #executeOutermost(com.aoapps.dbc.Database, boolean, com.aoapps.dao.dbc.TransactionContext.PinnedCallable)
+   */
+  static void whenReleased(Object result, Consumer<Throwable> completion) {
+    if (result instanceof QueryReport.ReportCursor) {
+      ((QueryReport.ReportCursor) result).onClose(completion);
+    } else {
+      completion.accept(null);
+    }
+  }
+
+  /**
+   * Executes the outermost task, pinning the database for its duration.  Nested tasks are executed
+   * directly against the pinned database, without calling this method.
+   *
+   * <p>Subclasses may override this to observe or wrap the outermost task, but must call this
+   * implementation to pin the database.</p>
+   *
+   * @param  readOnly  whether the database was selected for a read-only task
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   */
+  protected <V, Ex extends Throwable> V executeOutermost(
+      Database database,
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    return transactionContext.call(database, callable);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see  Database#transactionCall(com.aoapps.lang.concurrent.CallableE)
+   */
+  @Override
+  public <V> V transactionCall(CallableE<? extends V, ? extends SQLException> callable) throws SQLException {
+    return transactionWithDatabase(false, database -> database.transactionCall(callable));
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -85,20 +362,7 @@ public abstract class DatabaseModel extends AbstractModel {
    */
   @Override
   public <V, Ex extends Throwable> V transactionCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
-      return database.transactionCall(exClass, callable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        return database.transactionCall(exClass, callable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+    return transactionWithDatabase(false, database -> database.transactionCall(exClass, callable));
   }
 
   /**
@@ -107,20 +371,7 @@ public abstract class DatabaseModel extends AbstractModel {
    * @see  Database#transactionCall(com.aoapps.dbc.DatabaseCallable)
    */
   public <V> V transactionCall(DatabaseCallable<? extends V> callable) throws SQLException {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
-      return database.transactionCall(callable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        return database.transactionCall(callable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+    return transactionWithDatabase(false, database -> database.transactionCall(callable));
   }
 
   /**
@@ -143,20 +394,7 @@ public abstract class DatabaseModel extends AbstractModel {
    */
   // TODO: Ex extends Throwable
   public <V, Ex extends Exception> V transactionCall(Class<? extends Ex> exClass, DatabaseCallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
-      return database.transactionCall(exClass, callable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        return database.transactionCall(exClass, callable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+    return transactionWithDatabase(false, database -> database.transactionCall(exClass, callable));
   }
 
   /**
@@ -166,20 +404,10 @@ public abstract class DatabaseModel extends AbstractModel {
    */
   @Override
   public void transactionRun(RunnableE<? extends SQLException> runnable) throws SQLException {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
+    transactionWithDatabase(false, database -> {
       database.transactionRun(runnable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        database.transactionRun(runnable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+      return null;
+    });
   }
 
   /**
@@ -191,20 +419,10 @@ public abstract class DatabaseModel extends AbstractModel {
    */
   @Override
   public <Ex extends Throwable> void transactionRun(Class<? extends Ex> exClass, RunnableE<? extends Ex> runnable) throws SQLException, Ex {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
+    transactionWithDatabase(false, database -> {
       database.transactionRun(exClass, runnable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        database.transactionRun(exClass, runnable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+      return null;
+    });
   }
 
   /**
@@ -213,20 +431,10 @@ public abstract class DatabaseModel extends AbstractModel {
    * @see  Database#transactionRun(com.aoapps.dbc.DatabaseRunnable)
    */
   public void transactionRun(DatabaseRunnable runnable) throws SQLException {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
+    transactionWithDatabase(false, database -> {
       database.transactionRun(runnable);
-    } else {
-      // Get database
-      database = getDatabase();
-      try {
-        transactionDatabase.set(database);
-        database.transactionRun(runnable);
-      } finally {
-        transactionDatabase.remove();
-      }
-    }
+      return null;
+    });
   }
 
   /**
@@ -249,19 +457,204 @@ public abstract class DatabaseModel extends AbstractModel {
    */
   // TODO: Ex extends Throwable
   public <Ex extends Exception> void transactionRun(Class<? extends Ex> exClass, DatabaseRunnableE<? extends Ex> runnable) throws SQLException, Ex {
-    Database database = transactionDatabase.get();
-    if (database != null) {
-      // Reuse current database
+    transactionWithDatabase(false, database -> {
       database.transactionRun(exClass, runnable);
-    } else {
-      // Get database
-      database = getDatabase();
+      return null;
+    });
+  }
+
+  /**
+   * Executes an arbitrary read-only transaction, providing automatic commit, rollback, and connection management.
+   * When not already in a transaction, the database is selected from {@link #getReadOnlyDatabase()}.
+   * A read-only transaction must not perform any updates, including in nested transactions.
+   *
+   * @see  Database#transactionCall(com.aoapps.dbc.DatabaseCallable)
+   */
+  public <V> V readOnlyTransactionCall(DatabaseCallable<? extends V> callable) throws SQLException {
+    return transactionWithDatabase(true, database -> database.transactionCall(callable));
+  }
+
+  /**
+   * Executes an arbitrary read-only transaction, providing automatic commit, rollback, and connection management.
+   * When not already in a transaction, the database is selected from {@link #getReadOnlyDatabase()}.
+   * A read-only transaction must not perform any updates, including in nested transactions.
+   *
+   * @see  Database#transactionRun(com.aoapps.dbc.DatabaseRunnable)
+   */
+  public void readOnlyTransactionRun(DatabaseRunnable runnable) throws SQLException {
+    transactionWithDatabase(true, database -> {
+      database.transactionRun(runnable);
+      return null;
+    });
+  }
+
+  /**
+   * Executes a batch of updates in a transaction.  When already in a transaction, the updates are
+   * part of the current transaction.  All pending updates are flushed before the transaction commits;
+   * when the runnable fails, pending updates are discarded and the transaction is rolled back.
+   *
+   * @param  batchSize  the number of rows per batch
+   * @param  handler    the optional handler of update counts
+   *
+   * @return  the total number of rows updated
+   *
+   * @see  BatchUpdate
+   */
+  public long batchRun(
+      int batchSize,
+      BatchUpdate.UpdateCountsHandler handler,
+      BatchUpdate.BatchRunnable runnable
+  ) throws SQLException {
+    return transactionCall(db -> {
+      BatchUpdate batch = new BatchUpdate(db, batchSize, handler);
       try {
-        transactionDatabase.set(database);
-        database.transactionRun(exClass, runnable);
-      } finally {
-        transactionDatabase.remove();
+        runnable.run(batch);
+        batch.flush();
+      } catch (Throwable t) {
+        // The original failure is not replaced by a failure closing the statements
+        try {
+          batch.closeStatements();
+        } catch (Throwable t2) {
+          t.addSuppressed(t2);
+        }
+        throw t;
       }
-    }
+      batch.closeStatements();
+      return batch.getUpdateCount();
+    });
+  }
+
+  /**
+   * Executes a batch of updates in a transaction.
+   *
+   * @param  batchSize  the number of rows per batch
+   *
+   * @return  the total number of rows updated
+   *
+   * @see  #batchRun(int, com.aoapps.dao.dbc.BatchUpdate.UpdateCountsHandler, com.aoapps.dao.dbc.BatchUpdate.BatchRunnable)
+   */
+  public long batchRun(int batchSize, BatchUpdate.BatchRunnable runnable) throws SQLException {
+    return batchRun(batchSize, null, runnable);
+  }
+
+  /**
+   * Executes a batch of updates in a transaction, using {@link BatchUpdate#DEFAULT_BATCH_SIZE}.
+   *
+   * @return  the total number of rows updated
+   *
+   * @see  #batchRun(int, com.aoapps.dao.dbc.BatchUpdate.UpdateCountsHandler, com.aoapps.dao.dbc.BatchUpdate.BatchRunnable)
+   */
+  public long batchRun(BatchUpdate.BatchRunnable runnable) throws SQLException {
+    return batchRun(BatchUpdate.DEFAULT_BATCH_SIZE, null, runnable);
+  }
+
+  /**
+   * Gets the executor that runs asynchronous transactions.  Transactions block while waiting for
+   * connections and queries, so the executor should not be a small fixed-size pool shared with other work.
+   *
+   * <p>This default implementation uses a shared executor that runs each transaction on its own virtual thread
+   * when available, or a cached pool of daemon threads otherwise.  The number of concurrent transactions
+   * is still bounded by the connection pool of each database.</p>
+   */
+  protected Executor getAsyncExecutor() {
+    return AsyncTransaction.getDefaultExecutor();
+  }
+
+  /**
+   * Executes an arbitrary transaction on another thread, providing automatic commit, rollback,
+   * and connection management.  The entire transaction is pinned to one database, as with
+   * {@link #transactionCall(com.aoapps.dbc.DatabaseCallable)}.  When called from within a transaction,
+   * the new transaction is pinned to the same database, but is a separate transaction on its own connection.
+   *
+   * <p>Cancelling the returned future with {@code mayInterruptIfRunning} interrupts the thread running the transaction.
+   * Any transaction cancelled or timed-out before it commits is rolled back.  Once the transaction has started to
+   * commit, cancelling returns {@code false} and the time limit no longer applies.  Cancelling a dependent stage does
+   * not cancel the transaction.</p>
+   *
+   * @param  executor  the executor that runs the transaction
+   * @param  timeout   the time limit, after which the future completes with an {@link java.sql.SQLTimeoutException},
+   *                   or {@code 0} for no limit
+   *
+   * @see  #getAsyncExecutor()
+   */
+  public <V> CompletableFuture<V> transactionCallAsync(
+      Executor executor,
+      long timeout,
+      TimeUnit unit,
+      DatabaseCallable<? extends V> callable
+  ) {
+    return AsyncTransaction.start(this, false, executor, timeout, unit, callable);
+  }
+
+  /**
+   * Executes an arbitrary transaction on another thread, with a time limit.
+   *
+   * @param  timeout  the time limit, after which the future completes with an {@link java.sql.SQLTimeoutException},
+   *                  or {@code 0} for no limit
+   *
+   * @see  #transactionCallAsync(java.util.concurrent.Executor, long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   */
+  public <V> CompletableFuture<V> transactionCallAsync(long timeout, TimeUnit unit, DatabaseCallable<? extends V> callable) {
+    return transactionCallAsync(getAsyncExecutor(), timeout, unit, callable);
+  }
+
+  /**
+   * Executes an arbitrary transaction on another thread.
+   *
+   * @see  #transactionCallAsync(java.util.concurrent.Executor, long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   */
+  public <V> CompletableFuture<V> transactionCallAsync(DatabaseCallable<? extends V> callable) {
+    return transactionCallAsync(getAsyncExecutor(), 0, TimeUnit.MILLISECONDS, callable);
+  }
+
+  /**
+   * Executes an arbitrary transaction on another thread, with a time limit.
+   *
+   * @param  timeout  the time limit, after which the future completes with an {@link java.sql.SQLTimeoutException},
+   *                  or {@code 0} for no limit
+   *
+   * @see  #transactionCallAsync(java.util.concurrent.Executor, long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   */
+  public CompletableFuture<Void> transactionRunAsync(long timeout, TimeUnit unit, DatabaseRunnable runnable) {
+    return transactionCallAsync(getAsyncExecutor(), timeout, unit, db -> {
+      runnable.run(db);
+      return null;
+    });
+  }
+
+  /**
+   * Executes an arbitrary transaction on another thread.
+   *
+   * @see  #transactionCallAsync(java.util.concurrent.Executor, long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   */
+  public CompletableFuture<Void> transactionRunAsync(DatabaseRunnable runnable) {
+    return transactionRunAsync(0, TimeUnit.MILLISECONDS, runnable);
+  }
+
+  /**
+   * Executes an arbitrary read-only transaction on another thread.
+   * When not called from within a transaction, the database is selected from {@link #getReadOnlyDatabase()}.
+   *
+   * @param  timeout  the time limit, after which the future completes with an {@link java.sql.SQLTimeoutException},
+   *                  or {@code 0} for no limit
+   *
+   * @see  #transactionCallAsync(java.util.concurrent.Executor, long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   * @see  #readOnlyTransactionCall(com.aoapps.dbc.DatabaseCallable)
+   */
+  public <V> CompletableFuture<V> readOnlyTransactionCallAsync(
+      long timeout,
+      TimeUnit unit,
+      DatabaseCallable<? extends V> callable
+  ) {
+    return AsyncTransaction.start(this, true, getAsyncExecutor(), timeout, unit, callable);
+  }
+
+  /**
+   * Executes an arbitrary read-only transaction on another thread.
+   *
+   * @see  #readOnlyTransactionCallAsync(long, java.util.concurrent.TimeUnit, com.aoapps.dbc.DatabaseCallable)
+   */
+  public <V> CompletableFuture<V> readOnlyTransactionCallAsync(DatabaseCallable<? extends V> callable) {
+    return readOnlyTransactionCallAsync(0, TimeUnit.MILLISECONDS, callable);
   }
 }
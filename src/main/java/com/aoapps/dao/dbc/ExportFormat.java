@@ -0,0 +1,291 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.QueryReport.QueryColumn;
+import com.aoapps.dao.dbc.QueryReport.ReportCursor;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The formats a report may be exported in.  Values are written directly from the
+ * {@link ReportCursor}, without building any per-row collection.
+ *
+ * @see  QueryReport#exportReport(java.util.Map, com.aoapps.dao.dbc.ExportFormat, java.io.Writer)
+ */
+public enum ExportFormat {
+
+  /**
+   * Comma-separated values, per RFC 4180, with a header row of column labels.
+   * Values containing commas, quotes, or line breaks are quoted, and {@code null} is written as an empty field.
+   */
+  CSV("text/csv", "csv") {
+    @Override
+    void writeHeader(List<QueryColumn> columns, Writer out) throws IOException {
+      for (int i = 0, size = columns.size(); i < size; i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        writeCsv(columns.get(i).getLabel(), out);
+      }
+      out.write("\r\n");
+    }
+
+    @Override
+    void writeRow(ReportCursor cursor, int numColumns, Writer out) throws SQLException, IOException {
+      for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+        if (columnIndex > 1) {
+          out.write(',');
+        }
+        Object value = cursor.getObject(columnIndex);
+        if (value != null) {
+          writeCsv(value.toString(), out);
+        }
+      }
+      out.write("\r\n");
+    }
+  },
+
+  /**
+   * Tab-separated values with a header row of column labels.
+   * Tabs, line breaks, and backslashes are backslash-escaped, and {@code null} is written as an empty field.
+   */
+  TSV("text/tab-separated-values", "tsv") {
+    @Override
+    void writeHeader(List<QueryColumn> columns, Writer out) throws IOException {
+      for (int i = 0, size = columns.size(); i < size; i++) {
+        if (i > 0) {
+          out.write('\t');
+        }
+        writeTsv(columns.get(i).getLabel(), out);
+      }
+      out.write('\n');
+    }
+
+    @Override
+    void writeRow(ReportCursor cursor, int numColumns, Writer out) throws SQLException, IOException {
+      for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+        if (columnIndex > 1) {
+          out.write('\t');
+        }
+        Object value = cursor.getObject(columnIndex);
+        if (value != null) {
+          writeTsv(value.toString(), out);
+        }
+      }
+      out.write('\n');
+    }
+  },
+
+  /**
+   * JSON Lines: one JSON object per row, keyed by column name, without a header.
+   * Numbers and booleans are written as JSON literals, arrays as JSON arrays, and all other
+   * values as strings.
+   */
+  JSON_LINES("application/jsonl", "jsonl") {
+    @Override
+    void writeHeader(List<QueryColumn> columns, Writer out) {
+      // No header
+    }
+
+    @Override
+    void writeRow(ReportCursor cursor, int numColumns, Writer out) throws SQLException, IOException {
+      List<QueryColumn> columns = cursor.getColumns();
+      out.write('{');
+      for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+        if (columnIndex > 1) {
+          out.write(',');
+        }
+        writeJsonString(columns.get(columnIndex - 1).getName(), out);
+        out.write(':');
+        writeJson(cursor.getObject(columnIndex), out);
+      }
+      out.write("}\n");
+    }
+  };
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final String contentType;
+  private final String extension;
+
+  private ExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  /**
+   * Gets the MIME type of this format, without any charset parameter.
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Gets the usual filename extension of this format, without the leading period.
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * Writes the header, if any, for the given columns.
+   */
+  abstract void writeHeader(List<QueryColumn> columns, Writer out) throws IOException;
+
+  /**
+   * Writes the current row of the cursor.
+   */
+  abstract void writeRow(ReportCursor cursor, int numColumns, Writer out) throws SQLException, IOException;
+
+  static void writeCsv(String value, Writer out) throws IOException {
+    int len = value.length();
+    boolean quote = false;
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == ',' || ch == '"' || ch == '\r' || ch == '\n') {
+        quote = true;
+        break;
+      }
+    }
+    if (!quote) {
+      out.write(value);
+    } else {
+      out.write('"');
+      int start = 0;
+      for (int i = 0; i < len; i++) {
+        if (value.charAt(i) == '"') {
+          // Doubled quote
+          out.write(value, start, i + 1 - start);
+          start = i;
+        }
+      }
+      out.write(value, start, len - start);
+      out.write('"');
+    }
+  }
+
+  static void writeTsv(String value, Writer out) throws IOException {
+    int len = value.length();
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      final char escape;
+      switch (ch) {
+        case '\t':
+          escape = 't';
+          break;
+        case '\n':
+          escape = 'n';
+          break;
+        case '\r':
+          escape = 'r';
+          break;
+        case '\\':
+          escape = '\\';
+          break;
+        default:
+          continue;
+      }
+      out.write(value, start, i - start);
+      out.write('\\');
+      out.write(escape);
+      start = i + 1;
+    }
+    out.write(value, start, len - start);
+  }
+
+  static void writeJson(Object value, Writer out) throws IOException {
+    if (value == null) {
+      out.write("null");
+    } else if (value instanceof Boolean) {
+      out.write(value.toString());
+    } else if (value instanceof Number) {
+      if (
+          (value instanceof Double && !Double.isFinite((Double) value))
+              || (value instanceof Float && !Float.isFinite((Float) value))
+      ) {
+        // NaN and infinities are not valid JSON numbers
+        writeJsonString(value.toString(), out);
+      } else {
+        out.write(value.toString());
+      }
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      out.write('[');
+      for (int i = 0, size = list.size(); i < size; i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        writeJson(list.get(i), out);
+      }
+      out.write(']');
+    } else {
+      writeJsonString(value.toString(), out);
+    }
+  }
+
+  private static void writeJsonString(String value, Writer out) throws IOException {
+    out.write('"');
+    int len = value.length();
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\' || ch < 0x20) {
+        out.write(value, start, i - start);
+        out.write('\\');
+        switch (ch) {
+          case '"':
+          case '\\':
+            out.write(ch);
+            break;
+          case '\b':
+            out.write('b');
+            break;
+          case '\f':
+            out.write('f');
+            break;
+          case '\n':
+            out.write('n');
+            break;
+          case '\r':
+            out.write('r');
+            break;
+          case '\t':
+            out.write('t');
+            break;
+          default:
+            out.write("u00");
+            out.write(HEX[ch >> 4]);
+            out.write(HEX[ch & 0xf]);
+        }
+        start = i + 1;
+      }
+    }
+    out.write(value, start, len - start);
+    out.write('"');
+  }
+}
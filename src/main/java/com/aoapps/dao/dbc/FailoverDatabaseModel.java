@@ -0,0 +1,397 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.TransactionContext.PinnedCallable;
+import com.aoapps.dbc.Database;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A model with a primary database and any number of standby databases, in order of preference.
+ * {@link #getDatabase()} returns the most preferred available database from a cached choice, without
+ * probing any database, so selection never blocks.
+ *
+ * <p>Each database has a circuit breaker.  The breaker opens after {@linkplain #getFailureThreshold() consecutive}
+ * connection failures of transactions against the database, or when a health check fails, and the
+ * current choice moves to the next available database.  An open breaker is closed by the first successful
+ * health check after {@linkplain #getOpenTimeout() the open timeout}, at which time a more preferred database
+ * becomes the current choice again.</p>
+ *
+ * <p>Once the open timeout has passed, the next selection also tries a more preferred database with an open
+ * breaker, checking its health in the background using the {@linkplain #getAsyncExecutor() asynchronous executor},
+ * so it returns to service even without scheduled health checks.  Selection does not wait for the trial, and
+ * a failed trial keeps the breaker open for another open timeout.</p>
+ *
+ * <p>Transactions in progress remain pinned to the database they started on, so failing over never
+ * moves or blocks a transaction already in progress.</p>
+ *
+ * <p>Databases are assumed available until a failure is seen or {@link #checkHealth()} is called,
+ * typically on a schedule by
+ * {@link #startHealthChecks(java.util.concurrent.ScheduledExecutorService, long, java.util.concurrent.TimeUnit)}.</p>
+ */
+public abstract class FailoverDatabaseModel extends DatabaseModel {
+
+  private static final Logger logger = Logger.getLogger(FailoverDatabaseModel.class.getName());
+
+  /**
+   * The number of seconds to wait for a connection to be validated during health checks.
+   */
+  private static final int VALIDATION_TIMEOUT = 5;
+
+  /**
+   * The default number of consecutive connection failures that open a circuit breaker.
+   */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+  /**
+   * The default time, in milliseconds, a circuit breaker remains open before a health check may close it.
+   */
+  public static final long DEFAULT_OPEN_TIMEOUT = 30000;
+
+  /**
+   * The state of a single database.
+   */
+  private static final class Node {
+
+    private final Database database;
+    private final int priority;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean open;
+    /**
+     * The {@link System#nanoTime()} once an open breaker may be tried again.
+     */
+    private final AtomicLong trialNanos = new AtomicLong();
+
+    private Node(Database database, int priority) {
+      this.database = database;
+      this.priority = priority;
+    }
+  }
+
+  private final List<Node> nodes;
+  private final Map<Database, Node> nodesByDatabase;
+  private final AtomicReference<Node> current;
+  private volatile int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+  private volatile long openTimeout = DEFAULT_OPEN_TIMEOUT;
+
+  /**
+   * Creates a new failover model that pins the transaction database in {@link #transactionDatabase}.
+   *
+   * @param  databases  the primary followed by any standbys, in order of preference
+   */
+  protected FailoverDatabaseModel(List<? extends Database> databases) {
+    this.nodes = toNodes(databases);
+    this.nodesByDatabase = toMap(nodes);
+    this.current = new AtomicReference<>(nodes.get(0));
+  }
+
+  /**
+   * Creates a new failover model with the given strategy for pinning the transaction database.
+   *
+   * @param  databases  the primary followed by any standbys, in order of preference
+   */
+  protected FailoverDatabaseModel(TransactionContext transactionContext, List<? extends Database> databases) {
+    super(transactionContext);
+    this.nodes = toNodes(databases);
+    this.nodesByDatabase = toMap(nodes);
+    this.current = new AtomicReference<>(nodes.get(0));
+  }
+
+  private static List<Node> toNodes(List<? extends Database> databases) {
+    if (databases.isEmpty()) {
+      throw new IllegalArgumentException("No databases");
+    }
+    List<Node> nodes = new ArrayList<>(databases.size());
+    for (Database database : databases) {
+      nodes.add(new Node(database, nodes.size()));
+    }
+    return Collections.unmodifiableList(nodes);
+  }
+
+  private static Map<Database, Node> toMap(List<Node> nodes) {
+    Map<Database, Node> map = new IdentityHashMap<>();
+    for (Node node : nodes) {
+      map.put(node.database, node);
+    }
+    return map;
+  }
+
+  /**
+   * Gets the current choice of database, which is the most preferred database with a closed circuit breaker.
+   * When all circuit breakers are open, the most recent choice is kept.  A more preferred database past its
+   * {@linkplain #getOpenTimeout() open timeout} is tried in the background, and is chosen once the trial finds
+   * it healthy.
+   */
+  @Override
+  public Database getDatabase() {
+    Node selected = current.get();
+    for (Node node : nodes) {
+      if (node.open) {
+        trial(node);
+      }
+      if (node == selected) {
+        break;
+      }
+    }
+    return selected.database;
+  }
+
+  /**
+   * Checks the health of a database with an open circuit breaker, in the background, once its open timeout
+   * has passed.  Only one caller starts a trial for each timeout.
+   */
+  private void trial(Node node) {
+    long trial = node.trialNanos.get();
+    long now = System.nanoTime();
+    if (
+        now - trial >= 0
+        && node.trialNanos.compareAndSet(trial, now + TimeUnit.MILLISECONDS.toNanos(openTimeout))
+    ) {
+      try {
+        getAsyncExecutor().execute(() -> {
+          checkHealth(node);
+          select();
+        });
+      } catch (RejectedExecutionException e) {
+        // Tried again after the next timeout
+        logger.log(Level.FINE, "Unable to try database #" + node.priority, e);
+      }
+    }
+  }
+
+  /**
+   * Checks if the current choice is the most preferred database.
+   */
+  public boolean isPrimary() {
+    return current.get().priority == 0;
+  }
+
+  /**
+   * Gets the number of databases with a closed circuit breaker.
+   */
+  public int getAvailableCount() {
+    int count = 0;
+    for (Node node : nodes) {
+      if (!node.open) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of consecutive connection failures that open a circuit breaker.
+   */
+  public int getFailureThreshold() {
+    return failureThreshold;
+  }
+
+  /**
+   * Sets the number of consecutive connection failures that open a circuit breaker.
+   * Defaults to {@value #DEFAULT_FAILURE_THRESHOLD}.
+   */
+  public void setFailureThreshold(int failureThreshold) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold < 1: " + failureThreshold);
+    }
+    this.failureThreshold = failureThreshold;
+  }
+
+  /**
+   * Gets the time, in milliseconds, a circuit breaker remains open before a trial or health check may close it.
+   */
+  public long getOpenTimeout() {
+    return openTimeout;
+  }
+
+  /**
+   * Sets the time, in milliseconds, a circuit breaker remains open before a trial or health check may close it.
+   * Defaults to {@value #DEFAULT_OPEN_TIMEOUT}.
+   */
+  public void setOpenTimeout(long openTimeout) {
+    if (openTimeout < 0) {
+      throw new IllegalArgumentException("openTimeout < 0: " + openTimeout);
+    }
+    this.openTimeout = openTimeout;
+  }
+
+  /**
+   * Tracks connection failures of the outermost transactions.  A {@linkplain QueryReport.ReportCursor report cursor}
+   * is tracked until it is closed.
+   */
+  @Override
+  protected <V, Ex extends Throwable> V executeOutermost(
+      Database database,
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    Node node = nodesByDatabase.get(database);
+    if (node == null) {
+      return super.executeOutermost(database, readOnly, callable);
+    }
+    V result;
+    try {
+      result = super.executeOutermost(database, readOnly, callable);
+    } catch (Throwable t) {
+      completed(node, t);
+      throw t;
+    }
+    whenReleased(result, failure -> completed(node, failure));
+    return result;
+  }
+
+  /**
+   * Counts connection failures toward opening the circuit breaker, and resets the count on success.
+   *
+   * @param  failure  the failure or {@code null} when completed normally
+   */
+  private void completed(Node node, Throwable failure) {
+    if (failure == null) {
+      node.consecutiveFailures.set(0);
+    } else if (
+        failure instanceof SQLException
+        && ReplicatedDatabaseModel.isConnectionException((SQLException) failure)
+        && node.consecutiveFailures.incrementAndGet() >= failureThreshold
+    ) {
+      open(node, failure);
+      select();
+    }
+  }
+
+  private void open(Node node, Throwable cause) {
+    node.trialNanos.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(openTimeout));
+    if (!node.open) {
+      node.open = true;
+      logger.log(Level.WARNING, "Circuit breaker opened for database #" + node.priority, cause);
+    }
+  }
+
+  private void close(Node node) {
+    node.consecutiveFailures.set(0);
+    if (node.open) {
+      node.open = false;
+      logger.log(Level.INFO, "Circuit breaker closed for database #" + node.priority);
+    }
+  }
+
+  /**
+   * Selects the most preferred database with a closed circuit breaker.
+   */
+  private void select() {
+    Node selected = null;
+    for (Node node : nodes) {
+      if (!node.open) {
+        selected = node;
+        break;
+      }
+    }
+    if (selected != null) {
+      Node previous = current.getAndSet(selected);
+      if (previous != selected) {
+        logger.log(
+            Level.WARNING,
+            "Failed over from database #" + previous.priority + " to database #" + selected.priority
+        );
+      }
+    }
+  }
+
+  /**
+   * Checks if a database may be used for read-write transactions.  Called during health checks, and
+   * a database that is not writable has its circuit breaker opened.  For example, on PostgreSQL, a standby is
+   * writable once promoted:
+   * <pre>SELECT NOT pg_is_in_recovery()</pre>
+   *
+   * <p>This default implementation returns {@code true}.</p>
+   *
+   * @param  conn  a connection to the database
+   */
+  @SuppressWarnings("NoopMethodInAbstractClass")
+  protected boolean isWritable(Database database, Connection conn) throws SQLException {
+    return true;
+  }
+
+  /**
+   * Checks the health of all databases, opening the circuit breaker of any unhealthy database and closing
+   * the circuit breaker of healthy databases that have been open for at least the open timeout, then
+   * updates the current choice.
+   */
+  public void checkHealth() {
+    for (Node node : nodes) {
+      if (node.open && System.nanoTime() - node.trialNanos.get() < 0) {
+        // Still cooling down, or being tried
+        continue;
+      }
+      checkHealth(node);
+    }
+    select();
+  }
+
+  /**
+   * Checks the health of a single database, opening or closing its circuit breaker.
+   */
+  private void checkHealth(Node node) {
+    boolean healthy;
+    SQLException cause = null;
+    try (Connection conn = node.database.getConnection(false)) {
+      healthy = conn.isValid(VALIDATION_TIMEOUT) && isWritable(node.database, conn);
+    } catch (SQLException e) {
+      logger.log(Level.FINE, "Database #" + node.priority + " health check failed", e);
+      cause = e;
+      healthy = false;
+    } catch (RuntimeException e) {
+      logger.log(Level.FINE, "Database #" + node.priority + " health check failed", e);
+      healthy = false;
+    }
+    if (healthy) {
+      close(node);
+    } else {
+      open(node, cause);
+    }
+  }
+
+  /**
+   * Starts {@linkplain #checkHealth() checking the health} of all databases on the given schedule.
+   *
+   * @return  the future used to stop the health checks
+   */
+  public ScheduledFuture<?> startHealthChecks(ScheduledExecutorService executor, long period, TimeUnit unit) {
+    return executor.scheduleWithFixedDelay(this::checkHealth, 0, period, unit);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores encoded report results as files in a directory, which may be shared between servers.
+ * Each file is written to a temporary file then moved into place, so readers never see a partial result.
+ * Expired files are removed as they are read, and by a {@linkplain #purgeExpired() sweep} of the directory
+ * every {@value #PURGE_INTERVAL} writes, so results that are never read again do not accumulate.
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class FileReportResultStore implements ReportResultStore {
+
+  private static final String SUFFIX = ".result";
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * The number of writes between each {@linkplain #purgeExpired() sweep} of the directory.
+   */
+  public static final int PURGE_INTERVAL = 1000;
+
+  private final Path directory;
+  private final AtomicInteger writeCount = new AtomicInteger();
+
+  /**
+   * Creates a new store in the given directory, creating the directory if needed.
+   */
+  public FileReportResultStore(Path directory) throws IOException {
+    this.directory = Files.createDirectories(directory);
+  }
+
+  /**
+   * Gets the directory the results are stored in.
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  private static String sha256(String value) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is required by all Java implementations", e);
+    }
+    char[] hex = new char[digest.length * 2];
+    for (int i = 0; i < digest.length; i++) {
+      hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+      hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+    }
+    return new String(hex);
+  }
+
+  /**
+   * Gets the prefix of the files of a report.
+   */
+  private static String getPrefix(String reportName) {
+    return sha256(reportName).substring(0, 16) + '-';
+  }
+
+  private Path getFile(String reportName, String key) {
+    return directory.resolve(getPrefix(reportName) + sha256(key) + SUFFIX);
+  }
+
+  @Override
+  public byte[] get(String reportName, String key) throws IOException {
+    Path file = getFile(reportName, key);
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+      long expires = in.readLong();
+      if (System.currentTimeMillis() >= expires) {
+        Files.deleteIfExists(file);
+        return null;
+      }
+      return in.readAllBytes();
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (EOFException e) {
+      // Truncated by another process, treat as absent
+      return null;
+    }
+  }
+
+  @Override
+  public void put(String reportName, String key, byte[] result, long timeToLive) throws IOException {
+    Path file = getFile(reportName, key);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+        long now = System.currentTimeMillis();
+        out.writeLong(timeToLive >= Long.MAX_VALUE - now ? Long.MAX_VALUE : (now + timeToLive));
+        out.write(result);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    if (writeCount.incrementAndGet() % PURGE_INTERVAL == 0) {
+      purgeExpired();
+    }
+  }
+
+  /**
+   * Removes all expired results, including those written by other servers sharing the directory.
+   * Called automatically every {@value #PURGE_INTERVAL} writes, and may also be called on a schedule.
+   *
+   * @return  the number of results removed
+   */
+  public int purgeExpired() throws IOException {
+    int count = 0;
+    long now = System.currentTimeMillis();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      for (Path file : files) {
+        long expires;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+          expires = in.readLong();
+        } catch (NoSuchFileException | EOFException e) {
+          // Removed or being replaced by another process
+          continue;
+        }
+        if (now >= expires && Files.deleteIfExists(file)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void invalidate(String reportName) throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, getPrefix(reportName) + "*" + SUFFIX)) {
+      for (Path file : files) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+}
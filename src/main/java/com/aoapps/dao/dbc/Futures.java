@@ -0,0 +1,87 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for results computed on other threads, rethrowing their failures.
+ */
+final class Futures {
+
+  /** Make no instances. */
+  private Futures() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Waits for a result.  A failure from the other thread is rethrown as-is, see {@link #rethrow(java.lang.Throwable)}.
+   */
+  static <V> V get(Future<V> future) throws SQLException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+      throw new SQLException(e);
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+    }
+  }
+
+  /**
+   * Rethrows a failure from another thread.
+   *
+   * <p>An {@link Error}, {@link RuntimeException}, or {@link SQLException} is rethrown as-is, so callers still see
+   * subclasses such as {@link ReportLimitException} or {@link java.sql.SQLTimeoutException}.  The waiting thread's
+   * stack is added as a {@linkplain Throwable#addSuppressed(java.lang.Throwable) suppressed} exception.
+   * Any other failure is wrapped in a new {@link SQLException}.</p>
+   *
+   * @return  never returns, is declared for use in a {@code throw} statement
+   */
+  static SQLException rethrow(Throwable cause) {
+    if (cause instanceof Error) {
+      cause.addSuppressed(waitedBy());
+      throw (Error) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      cause.addSuppressed(waitedBy());
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof SQLException) {
+      cause.addSuppressed(waitedBy());
+      return (SQLException) cause;
+    }
+    return new SQLException(cause);
+  }
+
+  /**
+   * Records the stack of the thread receiving a failure from another thread.
+   */
+  private static Exception waitedBy() {
+    return new Exception("Rethrown in thread " + Thread.currentThread().getName());
+  }
+}
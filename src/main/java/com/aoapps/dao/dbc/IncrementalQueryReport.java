@@ -0,0 +1,357 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import com.aoapps.dbc.DatabaseCallable;
+import com.aoapps.dbc.DatabaseConnection;
+import com.aoapps.lang.util.ErrorPrinter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A report served from a persistent staging table that is refreshed incrementally, instead of rebuilding
+ * temporary tables in {@link #beforeQuery(java.util.Map, java.sql.Connection)} on every execution.
+ * The report query selects from the {@linkplain #getStagingTable() staging table}, which must already exist.
+ *
+ * <p>Each {@linkplain #refresh() refresh} runs the {@linkplain #getDeltaSql() delta query} for the rows changed
+ * since the previous refresh, as tracked by the {@linkplain #getWatermarkColumn() watermark column}, then replaces
+ * those rows in the staging table by their {@linkplain #getStagingKeyColumns() key}, in a single transaction.
+ * Refreshes are typically run on a schedule by
+ * {@link #startRefresh(java.util.concurrent.ScheduledExecutorService, long, java.util.concurrent.TimeUnit)}.</p>
+ *
+ * <p>Rows deleted from the source are not seen by the delta query, so sources should mark rows deleted instead,
+ * and the report query filter them out.</p>
+ */
+public abstract class IncrementalQueryReport extends QueryReport {
+
+  private static final Logger logger = Logger.getLogger(IncrementalQueryReport.class.getName());
+
+  private final Lock refreshLock = new ReentrantLock();
+  private Object watermark;
+  private volatile long lastRefreshTime;
+  private volatile int lastRefreshRowCount;
+
+  /**
+   * Construct a new incremental report.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   */
+  protected IncrementalQueryReport(Database database, String name, String sql, Object... params) {
+    super(database, name, sql, params);
+  }
+
+  /**
+   * Construct a new incremental report.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   */
+  protected IncrementalQueryReport(Database database, String name, String sql, Collection<?> params) {
+    super(database, name, sql, params);
+  }
+
+  /**
+   * Construct a new incremental report that selects its database from a model on each execution.
+   * Refreshes are read-write transactions on the model.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   */
+  protected IncrementalQueryReport(DatabaseModel model, String name, String sql, Object... params) {
+    super(model, name, sql, params);
+  }
+
+  /**
+   * Construct a new incremental report that selects its database from a model on each execution.
+   * Refreshes are read-write transactions on the model.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   */
+  protected IncrementalQueryReport(DatabaseModel model, String name, String sql, Collection<?> params) {
+    super(model, name, sql, params);
+  }
+
+  /**
+   * Gets the name of the persistent staging table, which may be schema-qualified and quoted as needed.
+   * This is used directly in SQL, so must not come from user input.
+   */
+  public abstract String getStagingTable();
+
+  /**
+   * Gets the names of the columns that uniquely identify each row of the staging table.
+   * They are matched to the labels of the delta query columns without regard to case, and the
+   * labels are used in SQL as reported by the driver, quoted as {@linkplain #getDialect() the dialect} requires.
+   */
+  public abstract List<String> getStagingKeyColumns();
+
+  /**
+   * Gets the name of the column, in both the delta query and the staging table, that increases
+   * whenever a row changes, such as a last-modified timestamp.
+   */
+  public abstract String getWatermarkColumn();
+
+  /**
+   * Gets the query that selects the rows changed since the given watermark, with exactly one parameter
+   * compared to the watermark column, such as {@code ... WHERE modified > ?}.  The columns must match the
+   * staging table by name, and each key must be returned at most once.
+   *
+   * <p>Rows are replaced by key, so selecting a row again is harmless.  Comparing with {@code >=} also selects
+   * rows with the same watermark as the previous refresh, which were not all visible to it.</p>
+   *
+   * <p>Neither comparison finds a row committed after a refresh with a watermark below the one that refresh
+   * reached, such as a last-modified timestamp set when a long transaction began.  Such rows are missed until
+   * they change again, so the watermark should be assigned as late as possible in the writing transaction.</p>
+   */
+  public abstract String getDeltaSql();
+
+  /**
+   * Gets the watermark used when the staging table is empty, which must be less than any watermark in the source.
+   * Defaults to the epoch, for timestamp watermarks.
+   */
+  public Object getInitialWatermark() {
+    return new Timestamp(0);
+  }
+
+  /**
+   * Refreshes the staging table with the rows changed since the previous refresh.
+   * Concurrent calls wait for the refresh in progress, then refresh again.
+   * This should not be called within another transaction, since the watermark is advanced as soon as
+   * this refresh completes.
+   *
+   * @return  the number of rows refreshed
+   */
+  public int refresh() throws SQLException {
+    refreshLock.lock();
+    try {
+      DatabaseModel model = getModel();
+      DatabaseCallable<Refreshed> callable = this::refresh;
+      Refreshed refreshed;
+      if (model != null) {
+        refreshed = model.transactionCall(callable);
+      } else {
+        refreshed = getDatabase().transactionCall(callable);
+      }
+      // Only advance once committed, so a rolled-back refresh is repeated
+      watermark = refreshed.watermark;
+      lastRefreshTime = System.currentTimeMillis();
+      lastRefreshRowCount = refreshed.count;
+      return refreshed.count;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * The outcome of a refresh transaction.
+   */
+  private static final class Refreshed {
+
+    private final int count;
+    private final Object watermark;
+
+    private Refreshed(int count, Object watermark) {
+      this.count = count;
+      this.watermark = watermark;
+    }
+  }
+
+  @SuppressWarnings("UseSpecificCatch")
+  private Refreshed refresh(DatabaseConnection db) throws SQLException {
+    String stagingTable = getStagingTable();
+    ReportDialect dialect = getDialect();
+    String watermarkColumn = dialect.quoteIdentifier(getWatermarkColumn());
+    String maxWatermarkSql = "SELECT MAX(" + watermarkColumn + ") FROM " + stagingTable;
+    Connection conn = db.getConnection();
+    Object since = watermark;
+    if (since == null) {
+      // First refresh since startup, resume from the staging table
+      since = queryObject(conn, maxWatermarkSql);
+      if (since == null) {
+        since = getInitialWatermark();
+      }
+    }
+    List<String> keyColumns = getStagingKeyColumns();
+    String deltaSql = getDeltaSql();
+    int count = 0;
+    // Not closed by try-with-resources, which would flush a partial batch when reading the delta fails
+    BatchUpdate batch = new BatchUpdate(db, BatchUpdate.DEFAULT_BATCH_SIZE);
+    try {
+      try (PreparedStatement pstmt = conn.prepareStatement(deltaSql)) {
+        try {
+          DatabaseConnection.setParams(conn, pstmt, since);
+          try (ResultSet results = pstmt.executeQuery()) {
+            ResultSetMetaData meta = results.getMetaData();
+            int numColumns = meta.getColumnCount();
+            List<String> columnNames = new ArrayList<>(numColumns);
+            for (int i = 1; i <= numColumns; i++) {
+              columnNames.add(meta.getColumnLabel(i));
+            }
+            int[] keyIndexes = new int[keyColumns.size()];
+            List<String> keyNames = new ArrayList<>(keyIndexes.length);
+            for (int i = 0; i < keyIndexes.length; i++) {
+              int index = indexOfColumn(columnNames, keyColumns.get(i));
+              keyIndexes[i] = index + 1;
+              keyNames.add(columnNames.get(index));
+            }
+            String deleteSql = getDeleteSql(dialect, stagingTable, keyNames);
+            String insertSql = getInsertSql(dialect, stagingTable, columnNames);
+            while (results.next()) {
+              Object[] key = new Object[keyIndexes.length];
+              for (int i = 0; i < keyIndexes.length; i++) {
+                key[i] = results.getObject(keyIndexes[i]);
+              }
+              Object[] row = new Object[numColumns];
+              for (int i = 0; i < numColumns; i++) {
+                row[i] = results.getObject(i + 1);
+              }
+              // Deletes are executed before inserts, since they were added first
+              batch.add(deleteSql, key);
+              batch.add(insertSql, row);
+              count++;
+            }
+          }
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, pstmt);
+          throw e;
+        }
+      }
+      batch.flush();
+    } catch (Throwable t) {
+      try {
+        batch.closeStatements();
+      } catch (Throwable t2) {
+        t.addSuppressed(t2);
+      }
+      throw t;
+    }
+    batch.closeStatements();
+    return new Refreshed(count, queryObject(conn, maxWatermarkSql));
+  }
+
+  /**
+   * Finds a key column in the delta query.  An exact match is preferred, otherwise the name must match
+   * exactly one column without regard to case, since drivers differ in the case of unquoted names.
+   *
+   * @return  the zero-based index of the column
+   */
+  private int indexOfColumn(List<String> columnNames, String keyColumn) throws SQLException {
+    int index = columnNames.indexOf(keyColumn);
+    if (index == -1) {
+      for (int i = 0, size = columnNames.size(); i < size; i++) {
+        if (columnNames.get(i).equalsIgnoreCase(keyColumn)) {
+          if (index != -1) {
+            throw new SQLException("Key column ambiguous in delta query of report " + getName() + ": " + keyColumn);
+          }
+          index = i;
+        }
+      }
+      if (index == -1) {
+        throw new SQLException("Key column not returned by delta query of report " + getName() + ": " + keyColumn);
+      }
+    }
+    return index;
+  }
+
+  @SuppressWarnings("UseSpecificCatch")
+  private static Object queryObject(Connection conn, String sql) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      try (ResultSet results = pstmt.executeQuery()) {
+        return results.next() ? results.getObject(1) : null;
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+  }
+
+  private static String getDeleteSql(ReportDialect dialect, String stagingTable, List<String> keyColumns) {
+    StringBuilder sql = new StringBuilder("DELETE FROM ").append(stagingTable).append(" WHERE ");
+    for (int i = 0, size = keyColumns.size(); i < size; i++) {
+      if (i > 0) {
+        sql.append(" AND ");
+      }
+      sql.append(dialect.quoteIdentifier(keyColumns.get(i))).append("=?");
+    }
+    return sql.toString();
+  }
+
+  private static String getInsertSql(ReportDialect dialect, String stagingTable, List<String> columnNames) {
+    StringBuilder sql = new StringBuilder("INSERT INTO ").append(stagingTable).append(" (");
+    dialect.appendIdentifiers(sql, columnNames).append(") VALUES (");
+    for (int i = 0, size = columnNames.size(); i < size; i++) {
+      sql.append(i == 0 ? "?" : ", ?");
+    }
+    return sql.append(')').toString();
+  }
+
+  /**
+   * Starts {@linkplain #refresh() refreshing} the staging table on the given schedule.  Failures are logged
+   * and the refresh is retried at the next period.
+   *
+   * @return  the future used to stop refreshing
+   */
+  public ScheduledFuture<?> startRefresh(ScheduledExecutorService executor, long period, TimeUnit unit) {
+    return executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            refresh();
+          } catch (SQLException | RuntimeException e) {
+            logger.log(Level.WARNING, "Refresh failed: " + getName(), e);
+          }
+        },
+        0,
+        period,
+        unit
+    );
+  }
+
+  /**
+   * Gets the time of the last successful refresh, in milliseconds since the epoch.
+   *
+   * @return  the time or {@code 0} when not yet refreshed
+   */
+  public long getLastRefreshTime() {
+    return lastRefreshTime;
+  }
+
+  /**
+   * Gets the number of rows changed by the last successful refresh.
+   */
+  public int getLastRefreshRowCount() {
+    return lastRefreshRowCount;
+  }
+}
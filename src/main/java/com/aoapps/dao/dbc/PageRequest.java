@@ -0,0 +1,149 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.collections.AoCollections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Selects one page of a report, either by offset or by the key of the last row seen.  Only reports with
+ * {@linkplain QueryReport#getKeyColumns() key columns} may be paged, since the pages are ordered by them.
+ *
+ * <p>Each {@link ReportPage} provides the request for the following page, which serves as the
+ * continuation token between requests.</p>
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @see  QueryReport#executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest)
+ */
+public final class PageRequest {
+
+  /**
+   * Requests the first page.
+   *
+   * @param  limit  the maximum number of rows in the page
+   */
+  public static PageRequest first(int limit) {
+    return new PageRequest(0, limit, null);
+  }
+
+  /**
+   * Requests the page starting at the given row offset.  The database still reads and discards
+   * the skipped rows, so keyset pagination is preferred for deep pages.
+   *
+   * @param  offset  the number of rows to skip
+   * @param  limit   the maximum number of rows in the page
+   */
+  public static PageRequest offset(int offset, int limit) {
+    return new PageRequest(offset, limit, null);
+  }
+
+  /**
+   * Requests the page following the row with the given key.  This is efficient at any depth
+   * when the key is indexed.
+   *
+   * @param  afterKey  the values of the key columns of the last row seen, in order
+   * @param  limit     the maximum number of rows in the page
+   */
+  public static PageRequest after(List<?> afterKey, int limit) {
+    return new PageRequest(
+        0,
+        limit,
+        AoCollections.optimalUnmodifiableList(new ArrayList<>(Objects.requireNonNull(afterKey, "afterKey")))
+    );
+  }
+
+  private final int offset;
+  private final int limit;
+  private final List<Object> afterKey;
+
+  private PageRequest(int offset, int limit, List<Object> afterKey) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("offset < 0: " + offset);
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit < 1: " + limit);
+    }
+    if (afterKey != null && afterKey.isEmpty()) {
+      throw new IllegalArgumentException("Empty afterKey");
+    }
+    this.offset = offset;
+    this.limit = limit;
+    this.afterKey = afterKey;
+  }
+
+  /**
+   * Gets the number of rows to skip.
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Gets the maximum number of rows in the page.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Gets the key of the last row seen.
+   *
+   * @return  the unmodifiable key values or {@code null} when not a keyset request
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Object> getAfterKey() {
+    return afterKey;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof PageRequest)) {
+      return false;
+    }
+    PageRequest other = (PageRequest) obj;
+    return
+        offset == other.offset
+            && limit == other.limit
+            && Objects.equals(afterKey, other.afterKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return (offset * 31 + limit) * 31 + Objects.hashCode(afterKey);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(PageRequest.class.getSimpleName()).append('(');
+    if (afterKey != null) {
+      sb.append("afterKey=").append(afterKey).append(", ");
+    } else if (offset != 0) {
+      sb.append("offset=").append(offset).append(", ");
+    }
+    return sb.append("limit=").append(limit).append(')').toString();
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
- * Copyright (C) 2011, 2013, 2015, 2016, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,11 +23,20 @@
 
 package com.aoapps.dao.dbc;
 
-import com.aoapps.collections.AoCollections;
 import com.aoapps.dao.Report;
 import com.aoapps.dbc.Database;
+import com.aoapps.dbc.DatabaseCallable;
 import com.aoapps.dbc.DatabaseConnection;
 import com.aoapps.lang.util.ErrorPrinter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -36,10 +45,14 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * A report that is obtained from a SQL query database.
@@ -54,11 +67,13 @@ public abstract class QueryReport implements Report {
     private final QueryReport report;
     private final String name;
     private final Report.Alignment alignment;
+    private final int type;
 
-    QueryColumn(QueryReport report, String name, Report.Alignment alignment) {
+    QueryColumn(QueryReport report, String name, Report.Alignment alignment, int type) {
       this.report = report;
       this.name = name;
       this.alignment = alignment;
+      this.type = type;
     }
 
     @Override
@@ -80,17 +95,30 @@ public abstract class QueryReport implements Report {
     public Report.Alignment getAlignment() {
       return alignment;
     }
+
+    /**
+     * Gets the SQL type of the column.
+     *
+     * @see  Types
+     */
+    int getType() {
+      return type;
+    }
   }
 
   /**
    * A result obtained from a database query.
+   *
+   * <p>The table data is either a list of rows or, for {@linkplain QueryReport#isColumnar() columnar reports},
+   * a lazy view over per-column storage.</p>
    */
   public static class ReportResult implements Report.Result {
 
     private final List<QueryColumn> columns;
     private final List<List<Object>> tableData;
+    private volatile long estimatedSize = -1;
 
-    private ReportResult(List<QueryColumn> columns, List<List<Object>> tableData) {
+    ReportResult(List<QueryColumn> columns, List<List<Object>> tableData) {
       this.columns = columns;
       this.tableData = tableData;
     }
@@ -106,19 +134,610 @@ public abstract class QueryReport implements Report {
     public List<List<Object>> getTableData() {
       return tableData;
     }
+
+    /**
+     * Gets a rough estimate of the heap used by the table data, in bytes.
+     *
+     * @see  ReportCache
+     */
+    public long getEstimatedSize() {
+      long size = estimatedSize;
+      if (size == -1) {
+        size = ReportSizes.estimateTableSize(tableData);
+        estimatedSize = size;
+      }
+      return size;
+    }
+
+    /**
+     * Writes this result in a compact, versioned binary form, which may be read on another server by
+     * {@link QueryReport#readResult(java.io.InputStream)}.  Values of types without a specific encoding
+     * must be serializable classes of the {@code java.*} packages.
+     *
+     * <p>The stream is flushed, but not closed.</p>
+     *
+     * @param  compress  whether to deflate the encoded values
+     *
+     * @throws  java.io.NotSerializableException  when a value cannot be encoded
+     */
+    public void writeTo(OutputStream out, boolean compress) throws IOException {
+      ReportResultCodec.write(this, out, compress);
+    }
+  }
+
+  /**
+   * Receives each row of a streamed report.
+   *
+   * @see  QueryReport#executeReport(java.util.Map, com.aoapps.dao.dbc.QueryReport.RowHandler)
+   */
+  @FunctionalInterface
+  public interface RowHandler {
+
+    /**
+     * Called once for each row, in order.
+     *
+     * @param  row  the unmodifiable values of the row
+     */
+    void handleRow(List<Object> row) throws SQLException;
+  }
+
+  /**
+   * A forward-only cursor over the rows of a report.  The connection, statement, and result set
+   * are held open until the cursor is closed, at which time
+   * {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)} is called.
+   *
+   * <p>When opened within a transaction of the database, the connection of the transaction is used,
+   * so the report sees the uncommitted changes of the transaction.  This connection is left open for
+   * the transaction.</p>
+   *
+   * @see  QueryReport#openCursor(java.util.Map)
+   */
+  public static final class ReportCursor implements AutoCloseable {
+
+    private final QueryReport report;
+    private final Map<String, ? extends Object> parameterValues;
+    private final ReportCancellation cancellation;
+    private final ReportLimits limits;
+    private final boolean deferArrays;
+    private final int fetchSize;
+    private final boolean recordFetch;
+    private final ReportMetrics metrics;
+    private final String sql;
+    private final Object[] sqlParams;
+    private final long startNanos;
+    // The time of each ReportStatistics.Phase, by ordinal, or -1 until reached
+    private final long[] phaseNanos = {-1, -1, -1, -1};
+    private long fetchStartNanos;
+    /**
+     * The first failure, after which the cursor is rolled back when closed.
+     */
+    private Throwable failure;
+    private long deadline;
+    private long rowCount;
+    private Connection conn;
+    private boolean ownsConnection;
+    private boolean restoreAutoCommit;
+    private PreparedStatement pstmt;
+    private ResultSet results;
+    private List<QueryColumn> columns;
+    private int numColumns;
+    private List<String> columnClassNames;
+    private long sampledRow;
+    private int sampledRows;
+    private long sampledSize;
+    /**
+     * The deferred arrays of the current row, freed when the cursor moves or is closed.
+     */
+    private final List<ArrayLists.LazyList> deferred = new ArrayList<>();
+    private boolean closed;
+    private Consumer<Throwable> closeListener;
+
+    ReportCursor(
+        QueryReport report,
+        Database database,
+        String sql,
+        Object[] sqlParams,
+        Map<String, ? extends Object> parameterValues,
+        int fetchSize,
+        ReportCancellation cancellation
+    ) throws SQLException {
+      this(report, database, sql, sqlParams, parameterValues, fetchSize, cancellation, true, true);
+    }
+
+    /**
+     * Opens a cursor.
+     *
+     * @param  reportColumns  {@code true} when the query has the columns of the report, which are then cached,
+     *                        or {@code false} for queries of other columns, such as aggregates
+     * @param  streaming      {@code true} when rows are streamed to the caller, in which case auto-commit is
+     *                        turned off so drivers such as PostgreSQL honor the fetch size.  Results read
+     *                        in full keep auto-commit, so
+     *                        {@link QueryReport#beforeQuery(java.util.Map, java.sql.Connection)} and
+     *                        {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)} are not
+     *                        joined into one transaction with the query.
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    ReportCursor(
+        QueryReport report,
+        Database database,
+        String sql,
+        Object[] sqlParams,
+        Map<String, ? extends Object> parameterValues,
+        int fetchSize,
+        ReportCancellation cancellation,
+        boolean reportColumns,
+        boolean streaming
+    ) throws SQLException {
+      this.startNanos = System.nanoTime();
+      this.report = report;
+      this.parameterValues = parameterValues;
+      this.cancellation = cancellation;
+      this.limits = report.getLimits();
+      // Deferred arrays are only readable until the cursor moves, so are never deferred for retained rows
+      this.deferArrays = streaming && report.isArrayConversionDeferred();
+      this.fetchSize = fetchSize;
+      // Only full reads of the report are representative of its future executions
+      this.recordFetch = fetchSize > 0 && reportColumns;
+      this.metrics = report.getMetrics();
+      this.sql = sql;
+      this.sqlParams = sqlParams;
+      try {
+        if (cancellation != null) {
+          cancellation.checkCancelled();
+        }
+        if (database.isInTransaction()) {
+          // Joins the current transaction, which returns its connection
+          DatabaseCallable<DatabaseConnection> current = db -> db;
+          conn = database.transactionCall(current).getConnection(report.isReadOnly());
+        } else {
+          conn = database.getConnection(report.isReadOnly());
+          ownsConnection = true;
+        }
+        if (streaming && fetchSize > 0 && conn.getAutoCommit()) {
+          // Some drivers, including PostgreSQL, only honor the fetch size outside of auto-commit mode
+          conn.setAutoCommit(false);
+          restoreAutoCommit = true;
+        }
+        long beforeQueryStart = System.nanoTime();
+        report.beforeQuery(parameterValues, conn);
+        long executeStart = System.nanoTime();
+        phaseNanos[ReportStatistics.Phase.BEFORE_QUERY.ordinal()] = executeStart - beforeQueryStart;
+        pstmt = conn.prepareStatement(sql);
+        try {
+          pstmt.setPoolable(report.isStatementPoolable());
+          if (fetchSize > 0) {
+            pstmt.setFetchSize(fetchSize);
+          }
+          long timeout = limits.getTimeout();
+          if (timeout > 0) {
+            pstmt.setQueryTimeout(limits.getQueryTimeoutSeconds());
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+          }
+          DatabaseConnection.setParams(conn, pstmt, sqlParams);
+          if (cancellation != null) {
+            cancellation.register(pstmt);
+          }
+          results = pstmt.executeQuery();
+          if (cancellation != null) {
+            // A cancel just before the query started may have been ignored by the driver
+            cancellation.checkCancelled();
+          }
+          columns = reportColumns ? report.getColumns(results) : report.getColumns(results.getMetaData());
+          numColumns = columns.size();
+          fetchStartNanos = System.nanoTime();
+          phaseNanos[ReportStatistics.Phase.EXECUTE.ordinal()] = fetchStartNanos - executeStart;
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, pstmt);
+          throw e;
+        }
+      } catch (Throwable t) {
+        fail(t);
+        try {
+          close();
+        } catch (Throwable t2) {
+          t.addSuppressed(t2);
+        }
+        throw t;
+      }
+    }
+
+    /**
+     * Gets the columns of the report.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public List<QueryColumn> getColumns() {
+      return columns;
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return  {@code true} when positioned on a row or {@code false} when there are no more rows
+     *
+     * @throws  ReportLimitException  when the report exceeds its time or row limit
+     *
+     * @see  QueryReport#getLimits()
+     */
+    public boolean next() throws SQLException {
+      if (closed) {
+        throw new SQLException("Cursor closed");
+      }
+      try {
+        if (!deferred.isEmpty()) {
+          freeDeferred();
+        }
+        if (cancellation != null) {
+          cancellation.checkCancelled();
+        }
+        if (!results.next()) {
+          return false;
+        }
+        rowCount++;
+        long maxRows = limits.getMaxRows();
+        if (maxRows > 0 && rowCount > maxRows) {
+          throw new ReportLimitException(
+              "Report exceeded row limit: " + report.getName() + ": " + maxRows,
+              ReportLimitException.LIMIT_SQL_STATE
+          );
+        }
+        if (deadline != 0 && System.nanoTime() - deadline > 0) {
+          throw new ReportLimitException(
+              "Report exceeded time limit: " + report.getName() + ": " + limits.getTimeout() + " ms",
+              ReportLimitException.TIMEOUT_SQL_STATE
+          );
+        }
+        return true;
+      } catch (Error | RuntimeException | SQLException e) {
+        fail(e);
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+
+    /**
+     * Cancels the query from another thread, such as when the rows being read ahead are no longer wanted.
+     * The cursor must still be closed.
+     */
+    void cancelQuery() throws SQLException {
+      PreparedStatement toCancel = pstmt;
+      if (toCancel != null) {
+        toCancel.cancel();
+      }
+    }
+
+    /**
+     * Checks if there is another row, without counting it toward the {@linkplain ReportLimits#getMaxRows() row limit},
+     * such as the extra row that detects a following page.  The row is not read, and the cursor must not be
+     * moved again.
+     */
+    boolean hasMoreRows() throws SQLException {
+      if (closed) {
+        throw new SQLException("Cursor closed");
+      }
+      try {
+        return results.next();
+      } catch (Error | RuntimeException | SQLException e) {
+        fail(e);
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+
+    /**
+     * Checks the estimated size of the rows retained so far against the size limit.
+     *
+     * @throws  ReportLimitException  when the report exceeds its size limit
+     */
+    void checkSize(long estimatedSize) throws ReportLimitException {
+      long maxSize = limits.getMaxSize();
+      if (maxSize > 0 && estimatedSize > maxSize) {
+        ReportLimitException e = new ReportLimitException(
+            "Report exceeded size limit: " + report.getName() + ": " + maxSize + " bytes",
+            ReportLimitException.LIMIT_SQL_STATE
+        );
+        fail(e);
+        throw e;
+      }
+    }
+
+    /**
+     * Checks if the size limit is enabled.
+     */
+    boolean isSizeLimited() {
+      return limits.getMaxSize() > 0;
+    }
+
+    /**
+     * Gets the value of a column in the current row, with arrays converted to unmodifiable lists.
+     *
+     * @param  columnIndex  the first column is 1, the second is 2, ...
+     */
+    public Object getObject(int columnIndex) throws SQLException {
+      try {
+        Object value = getValue(results, columnIndex, deferArrays);
+        if (value instanceof ArrayLists.LazyList) {
+          deferred.add((ArrayLists.LazyList) value);
+        }
+        if (rowCount <= FETCH_SAMPLE_ROWS) {
+          if (sampledRow != rowCount) {
+            sampledRow = rowCount;
+            sampledRows++;
+          }
+          sampledSize += ReportSizes.estimateSize(value);
+        }
+        return value;
+      } catch (Error | RuntimeException | SQLException e) {
+        fail(e);
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+
+    /**
+     * Frees the deferred arrays of the current row that were not read.
+     */
+    private void freeDeferred() throws SQLException {
+      SQLException e0 = null;
+      for (ArrayLists.LazyList lazy : deferred) {
+        try {
+          lazy.free();
+        } catch (SQLException e) {
+          if (e0 == null) {
+            e0 = e;
+          } else {
+            e0.addSuppressed(e);
+          }
+        }
+      }
+      deferred.clear();
+      if (e0 != null) {
+        throw e0;
+      }
+    }
+
+    /**
+     * Samples the sizes of the first rows read, when they were not read through {@link #getObject(int)}.
+     * The samples estimate the row size for {@link QueryReport#getFetchSize()} and {@link ReportStatistics}.
+     */
+    void sampleRows(List<? extends List<?>> tableData) {
+      if (sampledRows == 0) {
+        int size = (int) Math.min(tableData.size(), FETCH_SAMPLE_ROWS);
+        for (int i = 0; i < size; i++) {
+          sampledSize += ReportSizes.estimateRowSize(tableData.get(i));
+        }
+        sampledRows = size;
+      }
+    }
+
+    /**
+     * Gets the number of rows fetched from the database at a time.
+     *
+     * @return  the fetch size or {@code 0} for the driver default
+     */
+    int getFetchSize() {
+      return fetchSize;
+    }
+
+    /**
+     * Checks if the cursor has its own connection, rather than the connection of a transaction.
+     * Only a cursor with its own connection may be read by another thread.
+     */
+    boolean ownsConnection() {
+      return ownsConnection;
+    }
+
+    /**
+     * Gets the underlying result set, positioned on the current row.
+     * Errors from reading it directly are passed to {@link #readFailed(java.lang.Throwable)}.
+     */
+    ResultSet getResultSet() {
+      return results;
+    }
+
+    /**
+     * Marks the cursor as failed and adds the SQL to an error from reading the
+     * {@linkplain #getResultSet() result set} directly.
+     */
+    void readFailed(Throwable t) {
+      fail(t);
+      ErrorPrinter.addSql(t, pstmt);
+    }
+
+    /**
+     * Records the first failure of the cursor.
+     */
+    private void fail(Throwable t) {
+      if (failure == null) {
+        failure = t;
+      }
+    }
+
+    /**
+     * Adds a listener called once the cursor is closed, with the first failure of the cursor or of closing it,
+     * or {@code null} when it completed normally.  Called immediately when already closed.
+     *
+     * @see  DatabaseModel#whenReleased(java.lang.Object, java.util.function.Consumer)
+     */
+    void onClose(Consumer<Throwable> listener) {
+      if (closed) {
+        listener.accept(failure);
+      } else {
+        closeListener = closeListener == null ? listener : closeListener.andThen(listener);
+      }
+    }
+
+    /**
+     * Gets the {@linkplain ResultSetMetaData#getColumnClassName(int) class name} of the values of each column,
+     * which are the classes {@link #getObject(int)} returns, other than arrays.
+     */
+    List<String> getColumnClassNames() throws SQLException {
+      List<String> classNames = columnClassNames;
+      if (classNames == null) {
+        try {
+          ResultSetMetaData meta = results.getMetaData();
+          String[] names = new String[numColumns];
+          for (int i = 0; i < numColumns; i++) {
+            names[i] = meta.getColumnClassName(i + 1);
+          }
+          classNames = Collections.unmodifiableList(Arrays.asList(names));
+        } catch (Error | RuntimeException | SQLException e) {
+          readFailed(e);
+          throw e;
+        }
+        columnClassNames = classNames;
+      }
+      return classNames;
+    }
+
+    /**
+     * Gets all values of the current row.
+     *
+     * @return  the unmodifiable values of the current row
+     */
+    public List<Object> getRow() throws SQLException {
+      List<Object> row = new ArrayList<>(numColumns);
+      for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+        row.add(getObject(columnIndex));
+      }
+      return Collections.unmodifiableList(row);
+    }
+
+    /**
+     * Releases the result set and statement, calls
+     * {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)},
+     * and returns the connection.
+     */
+    @Override
+    @SuppressWarnings("UseSpecificCatch")
+    public void close() throws SQLException {
+      if (!closed) {
+        closed = true;
+        if (phaseNanos[ReportStatistics.Phase.EXECUTE.ordinal()] >= 0) {
+          phaseNanos[ReportStatistics.Phase.FETCH.ordinal()] = System.nanoTime() - fetchStartNanos;
+        }
+        if (recordFetch) {
+          report.recordFetch(rowCount, sampledRows, sampledSize);
+        }
+        Throwable t0 = null;
+        try {
+          freeDeferred();
+        } catch (Throwable t) {
+          t0 = t;
+        }
+        try {
+          if (results != null) {
+            results.close();
+          }
+        } catch (Throwable t) {
+          t0 = addSuppressed(t0, t);
+        }
+        try {
+          if (pstmt != null) {
+            if (cancellation != null) {
+              cancellation.unregister(pstmt);
+            }
+            pstmt.close();
+          }
+        } catch (Throwable t) {
+          t0 = addSuppressed(t0, t);
+        }
+        if (conn != null) {
+          long afterQueryStart = System.nanoTime();
+          try {
+            report.afterQuery(parameterValues, conn);
+          } catch (Throwable t) {
+            t0 = addSuppressed(t0, t);
+          }
+          phaseNanos[ReportStatistics.Phase.AFTER_QUERY.ordinal()] = System.nanoTime() - afterQueryStart;
+          if (restoreAutoCommit) {
+            try {
+              // Restoring auto-commit would otherwise commit the changes of a failed report
+              if (failure != null || t0 != null) {
+                conn.rollback();
+              }
+              conn.setAutoCommit(true);
+            } catch (Throwable t) {
+              t0 = addSuppressed(t0, t);
+            }
+          }
+          if (ownsConnection) {
+            try {
+              conn.close();
+            } catch (Throwable t) {
+              t0 = addSuppressed(t0, t);
+            }
+          }
+        }
+        if (metrics != null) {
+          metrics.record(
+              report.getName(),
+              sql,
+              sqlParams,
+              System.nanoTime() - startNanos,
+              phaseNanos,
+              rowCount,
+              sampledRows == 0 ? 0 : (rowCount * (sampledSize / sampledRows)),
+              failure != null || t0 != null
+          );
+        }
+        if (failure == null) {
+          failure = t0;
+        }
+        if (closeListener != null) {
+          closeListener.accept(failure);
+        }
+        if (t0 != null) {
+          if (t0 instanceof Error) {
+            throw (Error) t0;
+          }
+          if (t0 instanceof RuntimeException) {
+            throw (RuntimeException) t0;
+          }
+          if (t0 instanceof SQLException) {
+            throw (SQLException) t0;
+          }
+          throw new SQLException(t0);
+        }
+      }
+    }
+
+    private static Throwable addSuppressed(Throwable t0, Throwable t) {
+      if (t0 == null) {
+        return t;
+      }
+      t0.addSuppressed(t);
+      return t0;
+    }
   }
 
+  private final DatabaseModel model;
   private final Database database;
   private final String name;
   private final String sql;
   private final Object[] params;
 
+  /**
+   * The columns from the most recent execution, reused while the names and types of the results match.
+   */
+  private volatile List<QueryColumn> columns;
+
+  /**
+   * The moving average of the estimated size of each row, in bytes, or {@code 0} when not yet known.
+   */
+  private volatile long averageRowSize;
+
+  /**
+   * The moving average of the number of rows, or {@code -1} when not yet known.
+   */
+  private volatile long averageRowCount = -1;
+
   /**
    * Construct a new query report.
    *
    * @param params to substitute a parameter, provide the Parameter object.
    */
   protected QueryReport(Database database, String name, String sql, Object... params) {
+    this.model = null;
     this.database = database;
     this.name = name;
     this.sql = sql;
@@ -134,11 +753,73 @@ public abstract class QueryReport implements Report {
     this(database, name, sql, params.toArray());
   }
 
+  /**
+   * Construct a new query report that selects its database from a model on each execution.
+   * {@linkplain #isReadOnly() Read-only reports} use {@link DatabaseModel#getReadOnlyDatabase()},
+   * which may be a replica.  When executed within a transaction of the model, the database of the
+   * transaction is used.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   *
+   * @see  DatabaseModel#selectDatabase(boolean)
+   */
+  protected QueryReport(DatabaseModel model, String name, String sql, Object... params) {
+    this.model = model;
+    this.database = null;
+    this.name = name;
+    this.sql = sql;
+    this.params = params;
+  }
+
+  /**
+   * Construct a new query report that selects its database from a model on each execution.
+   *
+   * @param params to substitute a parameter, provide the Parameter object.
+   *
+   * @see  #QueryReport(com.aoapps.dao.dbc.DatabaseModel, java.lang.String, java.lang.String, java.lang.Object...)
+   */
+  protected QueryReport(DatabaseModel model, String name, String sql, Collection<?> params) {
+    this(model, name, sql, params.toArray());
+  }
+
+  /**
+   * Gets the database this report is executed against.
+   *
+   * @return  the database or {@code null} when selected from a {@linkplain #getModel() model}
+   */
+  public Database getDatabase() {
+    return database;
+  }
+
+  /**
+   * Gets the model the database is selected from.
+   *
+   * @return  the model or {@code null} when executed against a fixed {@linkplain #getDatabase() database}
+   */
+  public DatabaseModel getModel() {
+    return model;
+  }
+
+  /**
+   * Checks if the report would run in a transaction of the current thread, and would therefore
+   * see the uncommitted changes of the transaction.
+   */
+  boolean isInTransaction() {
+    return model == null ? database.isInTransaction() : model.isInTransaction();
+  }
+
   @Override
   public String getName() {
     return name;
   }
 
+  /**
+   * Gets the SQL of the report query, before any wrapping for paging or {@linkplain ReportQuery queries}.
+   */
+  String getSql() {
+    return sql;
+  }
+
   /**
    * Defaults to calling getTitle().
    */
@@ -180,99 +861,796 @@ public abstract class QueryReport implements Report {
     return true;
   }
 
-  @Override
-  public ReportResult executeReport(Map<String, ? extends Object> parameterValues) throws SQLException {
-    try (Connection conn = database.getConnection(isReadOnly())) {
-      try {
-        beforeQuery(parameterValues, conn);
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-          try {
-            //
-            // Substitute any parameters with the values provided.
-            //
-            Object[] sqlParams = new Object[params.length];
-            for (int i = 0; i < params.length; i++) {
-              Object param = params[i];
-              if (param instanceof Parameter) {
-                // Replace placeholder with value
-                Parameter reportParam = (Parameter) param;
-                String paramName = reportParam.getName();
-                param = parameterValues.get(paramName);
-                if (param == null) {
-                  throw new IllegalArgumentException("Parameter required: " + paramName);
-                }
-              }
-              sqlParams[i] = param;
-            }
+  /**
+   * The number of rows fetched at a time before the width of the rows of a report is known.
+   */
+  public static final int DEFAULT_FETCH_SIZE = 1000;
 
-            DatabaseConnection.setParams(conn, pstmt, sqlParams);
-            try (ResultSet results = pstmt.executeQuery()) {
-              ResultSetMetaData meta = results.getMetaData();
-              int numColumns = meta.getColumnCount();
-              List<QueryColumn> columns = new ArrayList<>();
-              for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
-                final Alignment alignment;
-                switch (meta.getColumnType(columnIndex)) {
-                  case Types.BIGINT:
-                  case Types.DECIMAL:
-                  case Types.DOUBLE:
-                  case Types.FLOAT:
-                  case Types.INTEGER:
-                  case Types.NUMERIC:
-                  case Types.REAL:
-                  case Types.SMALLINT:
-                  case Types.TINYINT:
-                    alignment = Alignment.right;
-                    break;
-                  case Types.BOOLEAN:
-                  case Types.BIT:
-                    alignment = Alignment.center;
-                    break;
-                  default:
-                    alignment = Alignment.left;
-                }
-                columns.add(new QueryColumn(this, meta.getColumnName(columnIndex), alignment));
-              }
-              List<List<Object>> tableData = new ArrayList<>();
-              while (results.next()) {
-                List<Object> row = new ArrayList<>(numColumns);
-                for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
-                  // Convert arrays to lists
-                  Object value = results.getObject(columnIndex);
-                  if (value instanceof Array) {
-                    Array array = ((Array) value);
-                    try {
-                      List<Object> values = new ArrayList<>();
-                      try (ResultSet arrayResults = array.getResultSet()) {
-                        while (arrayResults.next()) {
-                          values.add(arrayResults.getObject(2));
-                        }
-                      }
-                      value = AoCollections.optimalUnmodifiableList(values);
-                    } finally {
-                      array.free();
-                    }
-                  }
-                  row.add(value);
-                }
-                tableData.add(Collections.unmodifiableList(row));
-              }
-              return new ReportResult(
-                  Collections.unmodifiableList(columns),
-                  Collections.unmodifiableList(tableData)
-              );
-            }
-          } catch (Error | RuntimeException | SQLException e) {
-            ErrorPrinter.addSql(e, pstmt);
-            throw e;
-          }
+  /**
+   * The minimum number of rows fetched at a time once the rows of a report have been observed.
+   */
+  public static final int MIN_FETCH_SIZE = 10;
+
+  /**
+   * The maximum number of rows fetched at a time once the rows of a report have been observed.
+   */
+  public static final int MAX_FETCH_SIZE = 10000;
+
+  /**
+   * The target estimated size, in bytes, of the rows fetched at a time.
+   */
+  private static final long FETCH_BUFFER_SIZE = 4L << 20;
+
+  /**
+   * The number of rows, at the beginning of each execution, sampled for their size.
+   */
+  private static final long FETCH_SAMPLE_ROWS = 64;
+
+  /**
+   * The default number of batches of rows read ahead when streaming to a {@link RowHandler}.
+   */
+  public static final int DEFAULT_PREFETCH_BATCHES = 2;
+
+  /**
+   * The size of the character buffer used when exporting.
+   */
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Gets the time-to-live, in milliseconds, of results cached by a {@link ReportCache}.
+   * A value of {@code 0} disables caching of this report.
+   * Defaults to {@code -1}, which uses the cache's default time-to-live.
+   *
+   * @see  ReportCache#getDefaultTimeToLive()
+   */
+  public long getCacheTimeToLive() {
+    return -1;
+  }
+
+  /**
+   * Checks if the results of this report are stored column-wise.  Columnar results keep
+   * integer, floating-point, and text columns in primitive arrays and dictionaries, using much less
+   * heap than a list of rows for large, mostly numeric reports.  The table data is then a
+   * lazy view, boxing values as they are accessed.  Defaults to false.
+   *
+   * @see  ReportResult#getTableData()
+   */
+  public boolean isColumnar() {
+    return false;
+  }
+
+  /**
+   * Gets the SQL dialect of the database, used for the SQL generated around the report query when
+   * {@linkplain #executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest) paging} or
+   * {@linkplain #executeReport(java.util.Map, com.aoapps.dao.dbc.ReportQuery) querying} the report.
+   * Defaults to {@link ReportDialect#ANSI}, which requires standard identifier quotes and
+   * {@code OFFSET ... FETCH}.  Reports on MySQL or MariaDB should return {@link ReportDialect#MYSQL}.
+   */
+  public ReportDialect getDialect() {
+    return ReportDialect.ANSI;
+  }
+
+  /**
+   * Gets the estimated size, in bytes, of the rows on the heap before the remaining rows of the report are
+   * spilled to a memory-mapped temporary file.  Spilled results are served from the file as they are accessed,
+   * so huge reports may still be paged, sorted, and exported without exhausting the heap.
+   * A report with a value that cannot be encoded, such as a driver-specific object, stays on the heap.
+   * Defaults to {@code 0}, which never spills.
+   *
+   * @return  the threshold or {@code 0} to never spill
+   *
+   * @see  ReportResult#getEstimatedSize()
+   */
+  public long getSpillThreshold() {
+    return 0;
+  }
+
+  /**
+   * Checks if SQL arrays are read when their list is first accessed instead of as each row is read
+   * from a {@linkplain #openCursor(java.util.Map) cursor}.  This saves the conversion of array values
+   * that are never used.  A deferred array must be read before the cursor moves to the next row or is
+   * closed, after which the arrays not read are freed.  A failure to read a deferred array is thrown as
+   * an {@link IllegalStateException}.  Defaults to false.
+   *
+   * <p>Arrays are always read as each row is read when the rows are retained, such as by
+   * {@link #executeReport(java.util.Map)}, or read ahead of a {@link RowHandler}.</p>
+   *
+   * <p>Either way, the Java array from {@link Array#getArray()} is wrapped as a list without copying.</p>
+   */
+  public boolean isArrayConversionDeferred() {
+    return false;
+  }
+
+  /**
+   * Gets the number of rows fetched from the database at a time.  Without a fetch size, some drivers,
+   * including PostgreSQL, read the entire result into memory before returning the first row.
+   *
+   * <p>PostgreSQL only honors the fetch size outside of auto-commit, so a {@linkplain #openCursor(java.util.Map) cursor}
+   * turns off auto-commit until closed, running {@link #beforeQuery(java.util.Map, java.sql.Connection)},
+   * the query, and {@link #afterQuery(java.util.Map, java.sql.Connection)} in one transaction that is rolled back
+   * when the report fails.  Results read in full keep auto-commit, where the fetch size is only a hint.</p>
+   *
+   * <p>This default implementation adapts to previous executions of this report: enough rows to fill
+   * about 4 MiB, based on the average estimated size of the rows, between {@value #MIN_FETCH_SIZE}
+   * and {@value #MAX_FETCH_SIZE}, but not much more than the average number of rows.  Until the rows
+   * have been observed, {@value #DEFAULT_FETCH_SIZE} rows are fetched at a time.  Reports may override
+   * this with a fixed fetch size.</p>
+   *
+   * @return  The fetch size or {@code 0} to use the driver default
+   *
+   * @see  #openCursor(java.util.Map)
+   */
+  public int getFetchSize() {
+    long rowSize = averageRowSize;
+    if (rowSize == 0) {
+      return DEFAULT_FETCH_SIZE;
+    }
+    long fetchSize = Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, FETCH_BUFFER_SIZE / rowSize));
+    long rowCount = averageRowCount;
+    if (rowCount >= 0) {
+      // Room for growth, plus one to find the end of the results in the same round-trip
+      fetchSize = Math.min(fetchSize, Math.max(MIN_FETCH_SIZE, rowCount * 2 + 1));
+    }
+    return (int) fetchSize;
+  }
+
+  /**
+   * Records an execution of this report for {@link #getFetchSize()}.  Concurrent executions may
+   * overwrite each other's updates, which only makes the averages less precise.
+   *
+   * @param  sampledRows  the number of rows sampled, or {@code 0} when no rows were read
+   * @param  sampledSize  the total estimated size of the sampled rows
+   */
+  void recordFetch(long rowCount, int sampledRows, long sampledSize) {
+    if (sampledRows > 0) {
+      long rowSize = Math.max(1, sampledSize / sampledRows);
+      long average = averageRowSize;
+      averageRowSize = (average == 0) ? rowSize : Math.max(1, average + ((rowSize - average) >> 2));
+    }
+    long average = averageRowCount;
+    averageRowCount = (average < 0) ? rowCount : (average + ((rowCount - average) >> 2));
+  }
+
+  /**
+   * Gets the maximum number of batches of rows read ahead, on another thread, when streaming to a
+   * {@link RowHandler}, so fetching from the database overlaps with handling the rows.  Each batch
+   * is {@linkplain #getFetchSize() one fetch} of rows.  Rows are not read ahead within a transaction,
+   * since the handler may use the connection of the transaction.
+   * Defaults to {@value #DEFAULT_PREFETCH_BATCHES}.
+   *
+   * @return  the number of batches or {@code 0} to read each row on the handler's thread
+   *
+   * @see  #executeReport(java.util.Map, com.aoapps.dao.dbc.QueryReport.RowHandler)
+   * @see  #getPrefetchExecutor()
+   */
+  public int getPrefetchBatches() {
+    return DEFAULT_PREFETCH_BATCHES;
+  }
+
+  /**
+   * Gets the executor that reads rows ahead of a {@link RowHandler}.
+   * Defaults to the {@linkplain DatabaseModel#getAsyncExecutor() asynchronous executor} of the model,
+   * or a shared executor for reports on a fixed database.
+   *
+   * @see  #getPrefetchBatches()
+   */
+  protected Executor getPrefetchExecutor() {
+    return (model != null) ? model.getAsyncExecutor() : AsyncTransaction.getDefaultExecutor();
+  }
+
+  /**
+   * Gets the metrics that record each execution of this report.
+   * Defaults to {@link ReportMetrics#getDefault()}.
+   *
+   * @return  the metrics or {@code null} to not record this report
+   *
+   * @see  ReportMetrics#setDefault(com.aoapps.dao.dbc.ReportMetrics)
+   */
+  public ReportMetrics getMetrics() {
+    return ReportMetrics.getDefault();
+  }
+
+  /**
+   * Gets the limits on each execution of this report.
+   * Defaults to {@link ReportLimits#getDefault()}.
+   *
+   * @see  ReportLimits#setDefault(com.aoapps.dao.dbc.ReportLimits)
+   */
+  public ReportLimits getLimits() {
+    return ReportLimits.getDefault();
+  }
+
+  /**
+   * Gets the names of the columns, as returned by the query, that uniquely identify each row.
+   * {@linkplain #executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest) Pages} are ordered by
+   * these columns, and each following page is selected by the key of the last row seen instead of by offset.
+   * Reports without key columns may not be paged.  The key columns must not be {@code null}.
+   * Defaults to none.
+   *
+   * @return  the unmodifiable column names, in sort order
+   */
+  public List<String> getKeyColumns() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Substitutes any parameters with the values provided.
+   */
+  Object[] getSqlParams(Map<String, ? extends Object> parameterValues) {
+    Object[] sqlParams = new Object[params.length];
+    for (int i = 0; i < params.length; i++) {
+      Object param = params[i];
+      if (param instanceof Parameter) {
+        // Replace placeholder with value
+        Parameter reportParam = (Parameter) param;
+        String paramName = reportParam.getName();
+        param = parameterValues.get(paramName);
+        if (param == null) {
+          throw new IllegalArgumentException("Parameter required: " + paramName);
+        }
+      }
+      sqlParams[i] = param;
+    }
+    return sqlParams;
+  }
+
+  /**
+   * Checks if the prepared statement should be pooled.  When {@code true}, statement pools and drivers
+   * with per-connection statement caches, such as PostgreSQL's server-side prepared statements,
+   * may reuse the statement across executions on the same connection, skipping re-planning.
+   * Defaults to true.
+   *
+   * @see  PreparedStatement#setPoolable(boolean)
+   */
+  public boolean isStatementPoolable() {
+    return true;
+  }
+
+  /**
+   * Gets the columns of the results, reusing the columns of the previous execution when the
+   * names and types of the columns match.  The shape of a query may still change, such as
+   * {@code SELECT *} after the table is altered.
+   */
+  List<QueryColumn> getColumns(ResultSet results) throws SQLException {
+    ResultSetMetaData meta = results.getMetaData();
+    List<QueryColumn> cached = columns;
+    if (cached == null || !matches(cached, meta)) {
+      cached = getColumns(meta);
+      columns = cached;
+    }
+    return cached;
+  }
+
+  /**
+   * Checks if the columns have the same names and types as the results.
+   */
+  private static boolean matches(List<QueryColumn> columns, ResultSetMetaData meta) throws SQLException {
+    int numColumns = columns.size();
+    if (numColumns != meta.getColumnCount()) {
+      return false;
+    }
+    for (int i = 0; i < numColumns; i++) {
+      QueryColumn column = columns.get(i);
+      if (
+          column.getType() != meta.getColumnType(i + 1)
+          || !column.getName().equals(meta.getColumnName(i + 1))
+      ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the columns of a query.
+   */
+  List<QueryColumn> getColumns(ResultSetMetaData meta) throws SQLException {
+    int numColumns = meta.getColumnCount();
+    List<QueryColumn> columns = new ArrayList<>(numColumns);
+    for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
+      int type = meta.getColumnType(columnIndex);
+      final Alignment alignment;
+      switch (type) {
+        case Types.BIGINT:
+        case Types.DECIMAL:
+        case Types.DOUBLE:
+        case Types.FLOAT:
+        case Types.INTEGER:
+        case Types.NUMERIC:
+        case Types.REAL:
+        case Types.SMALLINT:
+        case Types.TINYINT:
+          alignment = Alignment.right;
+          break;
+        case Types.BOOLEAN:
+        case Types.BIT:
+          alignment = Alignment.center;
+          break;
+        default:
+          alignment = Alignment.left;
+      }
+      columns.add(new QueryColumn(this, meta.getColumnName(columnIndex), alignment, type));
+    }
+    return Collections.unmodifiableList(columns);
+  }
+
+  /**
+   * Gets the value of a column, converting arrays to lists.
+   *
+   * @param  deferArrays  when {@code true}, arrays are read on first access
+   *
+   * @see  #isArrayConversionDeferred()
+   */
+  static Object getValue(ResultSet results, int columnIndex, boolean deferArrays) throws SQLException {
+    Object value = results.getObject(columnIndex);
+    if (value instanceof Array) {
+      Array array = (Array) value;
+      value = deferArrays ? new ArrayLists.LazyList(array) : ArrayLists.toList(array);
+    }
+    return value;
+  }
+
+  /**
+   * Opens a cursor that streams the rows of this report, holding the database connection
+   * until the cursor is closed.  Rows are fetched {@linkplain #getFetchSize() in batches},
+   * so memory use is bounded regardless of the number of rows in the report.
+   *
+   * <p>The cursor must be closed, typically by try-with-resources.</p>
+   *
+   * <p>With a {@linkplain #getModel() model}, the cursor is opened as a task of the model, so the database is
+   * pinned while the query is started, and models that track their tasks, such as {@link ReplicatedDatabaseModel},
+   * track the cursor until it is closed.</p>
+   *
+   * @see  #getFetchSize()
+   */
+  public ReportCursor openCursor(Map<String, ? extends Object> parameterValues) throws SQLException {
+    return openCursor(parameterValues, null);
+  }
+
+  /**
+   * Opens a cursor that may be cancelled from another thread.
+   *
+   * @param  cancellation  the optional handle used to cancel the report
+   *
+   * @see  #openCursor(java.util.Map)
+   * @see  ReportCancellation#cancel()
+   */
+  public ReportCursor openCursor(Map<String, ? extends Object> parameterValues, ReportCancellation cancellation) throws SQLException {
+    Object[] sqlParams = getSqlParams(parameterValues);
+    int fetchSize = getFetchSize();
+    if (model != null) {
+      // Opened as an outermost task of the model, which completes its tracking once the cursor is closed
+      return model.callWithDatabase(
+          isReadOnly(),
+          db -> new ReportCursor(this, db, sql, sqlParams, parameterValues, fetchSize, cancellation)
+      );
+    } else {
+      return new ReportCursor(this, database, sql, sqlParams, parameterValues, fetchSize, cancellation);
+    }
+  }
+
+  @Override
+  public ReportResult executeReport(Map<String, ? extends Object> parameterValues) throws SQLException {
+    return executeReport(parameterValues, (ReportCancellation) null);
+  }
+
+  /**
+   * Executes the report, which may be cancelled from another thread.
+   *
+   * @param  cancellation  the optional handle used to cancel the report
+   *
+   * @see  ReportCancellation#cancel()
+   */
+  public ReportResult executeReport(Map<String, ? extends Object> parameterValues, ReportCancellation cancellation) throws SQLException {
+    if (model != null) {
+      return model.callWithDatabase(isReadOnly(), db -> executeReport(db, parameterValues, cancellation));
+    } else {
+      return executeReport(database, parameterValues, cancellation);
+    }
+  }
+
+  private ReportResult executeReport(
+      Database database,
+      Map<String, ? extends Object> parameterValues,
+      ReportCancellation cancellation
+  ) throws SQLException {
+    try (
+        ReportCursor cursor = new ReportCursor(
+            this,
+            database,
+            sql,
+            getSqlParams(parameterValues),
+            parameterValues,
+            getFetchSize(),
+            cancellation,
+            true,
+            false
+        )
+    ) {
+      List<List<Object>> tableData = readTableData(cursor, Integer.MAX_VALUE);
+      cursor.sampleRows(tableData);
+      return new ReportResult(cursor.getColumns(), tableData);
+    }
+  }
+
+  /**
+   * The minimum number of rows between size checks of columnar results.
+   */
+  private static final int COLUMNAR_SIZE_CHECK_INTERVAL = 1024;
+
+  /**
+   * Reads up to the given number of rows from the cursor.
+   */
+  private List<List<Object>> readTableData(ReportCursor cursor, int maxRows) throws SQLException {
+    boolean sizeLimited = cursor.isSizeLimited();
+    long spillThreshold = getSpillThreshold();
+    boolean sizeTracked = sizeLimited || spillThreshold > 0;
+    int count = 0;
+    if (isColumnar()) {
+      ColumnarTableData.Builder builder = new ColumnarTableData.Builder(cursor.getColumnClassNames());
+      // Estimating columnar storage walks the retained values, so it is checked at growing intervals
+      int nextCheck = COLUMNAR_SIZE_CHECK_INTERVAL;
+      while (count < maxRows && cursor.next()) {
+        builder.addRow(cursor);
+        count++;
+        if (sizeTracked && count == nextCheck) {
+          long size = builder.getEstimatedSize();
+          if (spillThreshold > 0 && size > spillThreshold) {
+            return spill(cursor, builder.build(), count, maxRows);
+          }
+          cursor.checkSize(size);
+          nextCheck = count + Math.max(COLUMNAR_SIZE_CHECK_INTERVAL, count >>> 3);
+        }
+      }
+      if (sizeTracked) {
+        long size = builder.getEstimatedSize();
+        if (spillThreshold > 0 && size > spillThreshold) {
+          return spill(cursor, builder.build(), count, maxRows);
+        }
+        cursor.checkSize(size);
+      }
+      return builder.build();
+    } else {
+      List<List<Object>> rows = new ArrayList<>();
+      long size = 0;
+      while (count < maxRows && cursor.next()) {
+        List<Object> row = cursor.getRow();
+        rows.add(row);
+        count++;
+        if (sizeTracked) {
+          size += ReportSizes.estimateRowSize(row);
+          if (spillThreshold > 0 && size > spillThreshold) {
+            return spill(cursor, rows, count, maxRows);
+          }
+          cursor.checkSize(size);
+        }
+      }
+      return Collections.unmodifiableList(rows);
+    }
+  }
+
+  /**
+   * Moves the rows read so far to a temporary file, then continues reading directly into the file.
+   * Rows in the file are not on the heap, so are not counted toward the size limit.
+   *
+   * <p>When a value cannot be encoded, such as a driver-specific object, the report is not spilled:
+   * any rows already in the file are read back, and the remaining rows are kept on the heap.</p>
+   *
+   * @param  held  the rows read so far, which are cleared when modifiable
+   */
+  private List<List<Object>> spill(ReportCursor cursor, List<List<Object>> held, int count, int maxRows)
+      throws SQLException {
+    try (SpillTableData.Builder builder = new SpillTableData.Builder(cursor.getColumnClassNames())) {
+      for (List<Object> row : held) {
+        if (!builder.addRow(row)) {
+          return readRemaining(cursor, new ArrayList<>(held), count, maxRows);
+        }
+      }
+      if (held instanceof ArrayList) {
+        held.clear();
+      }
+      while (count < maxRows && cursor.next()) {
+        List<Object> unencodable = builder.addRow(cursor);
+        count++;
+        if (unencodable != null) {
+          List<List<Object>> rows = new ArrayList<>(builder.build());
+          rows.add(unencodable);
+          return readRemaining(cursor, rows, count, maxRows);
+        }
+      }
+      return builder.build();
+    } catch (IOException e) {
+      throw new SQLException("Unable to spill report to disk: " + name, e);
+    }
+  }
+
+  /**
+   * Reads the remaining rows onto the heap, after a row could not be spilled.
+   *
+   * @param  rows  the rows read so far, which are added to
+   */
+  private List<List<Object>> readRemaining(ReportCursor cursor, List<List<Object>> rows, int count, int maxRows)
+      throws SQLException {
+    boolean sizeLimited = cursor.isSizeLimited();
+    long size = sizeLimited ? ReportSizes.estimateTableSize(rows) : 0;
+    if (sizeLimited) {
+      cursor.checkSize(size);
+    }
+    while (count < maxRows && cursor.next()) {
+      List<Object> row = cursor.getRow();
+      rows.add(row);
+      count++;
+      if (sizeLimited) {
+        size += ReportSizes.estimateRowSize(row);
+        cursor.checkSize(size);
+      }
+    }
+    return Collections.unmodifiableList(rows);
+  }
+
+  /**
+   * Executes one page of the report.  Only the rows of the page are read from the database,
+   * using the {@linkplain #getDialect() paging clause of the dialect}, such as {@code OFFSET ... FETCH},
+   * on the report query wrapped as a derived table.
+   * The page is ordered by the {@linkplain #getKeyColumns() key columns}, which are required so
+   * consecutive pages neither repeat nor skip rows, and the following page is requested by key.
+   *
+   * @see  #executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest, com.aoapps.dao.dbc.ReportCancellation)
+   */
+  public ReportPage executeReport(Map<String, ? extends Object> parameterValues, PageRequest page) throws SQLException {
+    return executeReport(parameterValues, page, null);
+  }
+
+  /**
+   * Executes one page of the report, which may be cancelled from another thread.
+   *
+   * @param  cancellation  the optional handle used to cancel the report
+   *
+   * @throws  IllegalArgumentException  when the report does not have key columns, or when requesting a page
+   *                                    {@linkplain PageRequest#after(java.util.List, int) by key} with the
+   *                                    wrong number of key values
+   *
+   * @see  #executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest)
+   */
+  public ReportPage executeReport(
+      Map<String, ? extends Object> parameterValues,
+      PageRequest page,
+      ReportCancellation cancellation
+  ) throws SQLException {
+    if (model != null) {
+      return model.callWithDatabase(isReadOnly(), db -> executeReport(db, parameterValues, page, cancellation));
+    } else {
+      return executeReport(database, parameterValues, page, cancellation);
+    }
+  }
+
+  private ReportPage executeReport(
+      Database database,
+      Map<String, ? extends Object> parameterValues,
+      PageRequest page,
+      ReportCancellation cancellation
+  ) throws SQLException {
+    List<String> keyColumns = getKeyColumns();
+    if (keyColumns.isEmpty()) {
+      // Without an order, the database may return the rows of consecutive pages in different orders
+      throw new IllegalArgumentException("Paging requires key columns: " + name);
+    }
+    ReportDialect dialect = getDialect();
+    List<Object> afterKey = page.getAfterKey();
+    StringBuilder pageSql = ReportSql.wrap(sql, "*");
+    List<Object> pageParams = new ArrayList<>();
+    if (afterKey != null) {
+      if (afterKey.size() != keyColumns.size()) {
+        throw new IllegalArgumentException(
+            "Expected " + keyColumns.size() + " key values, got " + afterKey.size() + ": " + name);
+      }
+      // Row value comparison, which uses the index on the key columns
+      pageSql.append("\nWHERE ");
+      if (keyColumns.size() == 1) {
+        dialect.appendIdentifiers(pageSql, keyColumns).append(" > ?");
+      } else {
+        dialect.appendIdentifiers(pageSql.append('('), keyColumns).append(") > (");
+        for (int i = 0; i < afterKey.size(); i++) {
+          pageSql.append(i == 0 ? "?" : ", ?");
+        }
+        pageSql.append(')');
+      }
+      pageParams.addAll(afterKey);
+    }
+    dialect.appendIdentifiers(pageSql.append("\nORDER BY "), keyColumns);
+    // One extra row detects whether there is a following page
+    int limit = page.getLimit();
+    dialect.appendPaging(pageSql, pageParams, page.getOffset(), limit == Integer.MAX_VALUE ? limit : (limit + 1));
+    try (
+        ReportCursor cursor = new ReportCursor(
+            this,
+            database,
+            pageSql.toString(),
+            ReportSql.concat(getSqlParams(parameterValues), pageParams.toArray()),
+            parameterValues,
+            0,
+            cancellation,
+            true,
+            false
+        )
+    ) {
+      List<QueryColumn> cursorColumns = cursor.getColumns();
+      List<List<Object>> tableData = readTableData(cursor, limit);
+      PageRequest nextPage;
+      // The extra row is not part of the page, so does not count toward the row limit
+      if (tableData.size() == limit && cursor.hasMoreRows()) {
+        List<Object> lastRow = tableData.get(limit - 1);
+        List<Object> nextKey = new ArrayList<>(keyColumns.size());
+        for (String keyColumn : keyColumns) {
+          nextKey.add(lastRow.get(getColumnIndex(cursorColumns, keyColumn)));
+        }
+        nextPage = PageRequest.after(nextKey, limit);
+      } else {
+        nextPage = null;
+      }
+      return new ReportPage(page, new ReportResult(cursorColumns, tableData), nextPage);
+    }
+  }
+
+  /**
+   * Executes the report with filtering, grouping, aggregation, and sorting performed by the database.
+   * The report query is wrapped as a derived table, so only the reduced results are read from the database.
+   *
+   * @see  #executeReport(java.util.Map, com.aoapps.dao.dbc.ReportQuery, com.aoapps.dao.dbc.ReportCancellation)
+   */
+  public ReportResult executeReport(Map<String, ? extends Object> parameterValues, ReportQuery query) throws SQLException {
+    return executeReport(parameterValues, query, null);
+  }
+
+  /**
+   * Executes the report with filtering, grouping, aggregation, and sorting performed by the database,
+   * which may be cancelled from another thread.
+   *
+   * @param  cancellation  the optional handle used to cancel the report
+   *
+   * @see  #executeReport(java.util.Map, com.aoapps.dao.dbc.ReportQuery)
+   */
+  public ReportResult executeReport(
+      Map<String, ? extends Object> parameterValues,
+      ReportQuery query,
+      ReportCancellation cancellation
+  ) throws SQLException {
+    if (model != null) {
+      return model.callWithDatabase(isReadOnly(), db -> executeReport(db, parameterValues, query, cancellation));
+    } else {
+      return executeReport(database, parameterValues, query, cancellation);
+    }
+  }
+
+  private ReportResult executeReport(
+      Database database,
+      Map<String, ? extends Object> parameterValues,
+      ReportQuery query,
+      ReportCancellation cancellation
+  ) throws SQLException {
+    List<Object> queryParams = new ArrayList<>();
+    String querySql = query.toSql(getDialect(), sql, queryParams);
+    try (
+        ReportCursor cursor = new ReportCursor(
+            this,
+            database,
+            querySql,
+            ReportSql.concat(getSqlParams(parameterValues), queryParams.toArray()),
+            parameterValues,
+            getFetchSize(),
+            cancellation,
+            !query.isAggregating(),
+            false
+        )
+    ) {
+      return new ReportResult(cursor.getColumns(), readTableData(cursor, Integer.MAX_VALUE));
+    }
+  }
+
+  /**
+   * Finds the zero-based index of the column with the given name.
+   */
+  private int getColumnIndex(List<QueryColumn> cursorColumns, String columnName) throws SQLException {
+    for (int i = 0, size = cursorColumns.size(); i < size; i++) {
+      if (cursorColumns.get(i).getName().equals(columnName)) {
+        return i;
+      }
+    }
+    throw new SQLException("Key column not found in report " + name + ": " + columnName);
+  }
+
+  /**
+   * Executes the report, streaming each row to the given handler as it is read.
+   * No rows are retained after being passed to the handler.
+   *
+   * <p>The handler is called on the calling thread, while up to {@linkplain #getPrefetchBatches() a few batches}
+   * of rows are read ahead on another thread.</p>
+   *
+   * @see  #openCursor(java.util.Map)
+   * @see  #getPrefetchBatches()
+   */
+  public void executeReport(Map<String, ? extends Object> parameterValues, RowHandler handler) throws SQLException {
+    try (ReportCursor cursor = openCursor(parameterValues)) {
+      int prefetchBatches = getPrefetchBatches();
+      // Deferred arrays are freed as the cursor moves, before the handler could read them
+      if (prefetchBatches > 0 && cursor.ownsConnection() && !isArrayConversionDeferred()) {
+        int fetchSize = cursor.getFetchSize();
+        RowPrefetcher.forEach(
+            cursor,
+            fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE,
+            prefetchBatches,
+            getPrefetchExecutor(),
+            handler
+        );
+      } else {
+        while (cursor.next()) {
+          handler.handleRow(cursor.getRow());
         }
-      } finally {
-        afterQuery(parameterValues, conn);
       }
     }
   }
 
+  /**
+   * Reads a result written by {@link ReportResult#writeTo(java.io.OutputStream, boolean)},
+   * typically from a shared cache, for this report.  The stream is read to its end, but not closed.
+   *
+   * @throws  java.io.InvalidObjectException  when not a result of a supported version
+   */
+  public ReportResult readResult(InputStream in) throws IOException {
+    return ReportResultCodec.read(this, in);
+  }
+
+  /**
+   * Exports the report, writing each row straight from the result set to the given writer as it is read.
+   * No rows are retained, so memory use is constant regardless of the size of the report, and output
+   * begins with the first fetched rows.
+   *
+   * <p>The writer is flushed, but not closed.</p>
+   *
+   * @see  #openCursor(java.util.Map)
+   */
+  public void exportReport(Map<String, ? extends Object> parameterValues, ExportFormat format, Writer out)
+      throws SQLException, IOException {
+    Writer buffered = (out instanceof BufferedWriter) ? out : new BufferedWriter(out, EXPORT_BUFFER_SIZE);
+    try (ReportCursor cursor = openCursor(parameterValues)) {
+      List<QueryColumn> cursorColumns = cursor.getColumns();
+      int numColumns = cursorColumns.size();
+      format.writeHeader(cursorColumns, buffered);
+      while (cursor.next()) {
+        format.writeRow(cursor, numColumns, buffered);
+      }
+    }
+    buffered.flush();
+  }
+
+  /**
+   * Exports the report to the given stream, encoded as UTF-8.
+   *
+   * <p>The stream is flushed, but not closed.</p>
+   *
+   * @see  #exportReport(java.util.Map, com.aoapps.dao.dbc.ExportFormat, java.io.Writer)
+   */
+  public void exportReport(Map<String, ? extends Object> parameterValues, ExportFormat format, OutputStream out)
+      throws SQLException, IOException {
+    exportReport(parameterValues, format, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Exports the report to the given channel, encoded as UTF-8.
+   *
+   * <p>The channel is not closed.</p>
+   *
+   * @see  #exportReport(java.util.Map, com.aoapps.dao.dbc.ExportFormat, java.io.Writer)
+   */
+  public void exportReport(Map<String, ? extends Object> parameterValues, ExportFormat format, WritableByteChannel out)
+      throws SQLException, IOException {
+    exportReport(
+        parameterValues,
+        format,
+        Channels.newWriter(out, StandardCharsets.UTF_8.newEncoder(), EXPORT_BUFFER_SIZE)
+    );
+  }
+
   /**
    * Called before the query is executed, this may setup any temp tables or views that are required
    * by the main query.
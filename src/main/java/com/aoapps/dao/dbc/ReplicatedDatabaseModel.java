@@ -0,0 +1,414 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.TransactionContext.PinnedCallable;
+import com.aoapps.dbc.Database;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A model with one primary database and any number of read-only replicas.  Read-write transactions are
+ * executed against the primary, while {@linkplain #readOnlyTransactionCall(com.aoapps.dbc.DatabaseCallable) read-only transactions}
+ * and read-only {@link QueryReport reports} are balanced across the healthy replicas that are within the
+ * {@linkplain #getMaxReplicationLag() maximum replication lag}.  When no replica is available, the primary is used.
+ *
+ * <p>As with all models, an entire transaction is executed against the same database, so a read-only transaction
+ * must not nest any read-write transactions.</p>
+ *
+ * <p>Replicas are assumed healthy until {@link #checkHealth()} is called, typically on a schedule by
+ * {@link #startHealthChecks(java.util.concurrent.ScheduledExecutorService, long, java.util.concurrent.TimeUnit)}.
+ * A replica is also marked unhealthy when a transaction against it fails with a connection exception.
+ * Once the {@linkplain #getRecheckDelay() recheck delay} has passed, the next selection checks an unhealthy replica
+ * again in the background, using the {@linkplain #getAsyncExecutor() asynchronous executor}, so it returns to service
+ * even without scheduled health checks.  Selection does not wait for the check.</p>
+ *
+ * <p>Replicas are identified in logs by their index in the collection of replicas, starting at zero.</p>
+ */
+public abstract class ReplicatedDatabaseModel extends DatabaseModel {
+
+  private static final Logger logger = Logger.getLogger(ReplicatedDatabaseModel.class.getName());
+
+  /**
+   * The SQL state class of connection exceptions.
+   */
+  static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+  /**
+   * The weight given to the most recent latency sample in the moving average.
+   */
+  private static final double LATENCY_ALPHA = 0.2;
+
+  /**
+   * The number of seconds to wait for a connection to be validated during health checks.
+   */
+  private static final int VALIDATION_TIMEOUT = 5;
+
+  /**
+   * The default delay, in milliseconds, before an unhealthy replica is checked again on selection.
+   */
+  public static final long DEFAULT_RECHECK_DELAY = 30000;
+
+  /**
+   * The strategy used to select among the available replicas.
+   */
+  public enum Balancing {
+    /**
+     * Selects the replica with the fewest transactions currently in progress.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Selects the replica with the lowest average transaction latency, weighted by the
+     * number of transactions currently in progress.
+     */
+    LATENCY_WEIGHTED
+  }
+
+  /**
+   * The state of a single replica.
+   */
+  private static final class Replica {
+
+    private final Database database;
+    private final int index;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+    /**
+     * The {@link System#nanoTime()} after which an unhealthy replica is checked again on selection.
+     */
+    private final AtomicLong recheckNanos = new AtomicLong();
+    private volatile long replicationLag;
+    /**
+     * The exponentially-weighted moving average latency, in nanoseconds.
+     */
+    private volatile double latency;
+
+    private Replica(Database database, int index) {
+      this.database = database;
+      this.index = index;
+    }
+
+    private void markUnhealthy(long recheckDelayNanos) {
+      recheckNanos.set(System.nanoTime() + recheckDelayNanos);
+      healthy = false;
+    }
+
+    private void recordLatency(long nanos) {
+      double current = latency;
+      // Benign race: concurrent updates may lose a sample
+      latency = current == 0 ? nanos : current + LATENCY_ALPHA * (nanos - current);
+    }
+  }
+
+  private final Database primary;
+  private final List<Replica> replicas;
+  private final Map<Database, Replica> replicasByDatabase;
+  private final Balancing balancing;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+  private volatile long maxReplicationLag = Long.MAX_VALUE;
+  private volatile long recheckDelay = DEFAULT_RECHECK_DELAY;
+
+  /**
+   * Creates a new replicated model that pins the transaction database in {@link #transactionDatabase}.
+   */
+  protected ReplicatedDatabaseModel(Database primary, Collection<? extends Database> replicas, Balancing balancing) {
+    this.primary = primary;
+    this.replicas = toReplicas(replicas);
+    this.replicasByDatabase = toMap(this.replicas);
+    this.balancing = balancing;
+  }
+
+  /**
+   * Creates a new replicated model with the given strategy for pinning the transaction database.
+   */
+  protected ReplicatedDatabaseModel(
+      TransactionContext transactionContext,
+      Database primary,
+      Collection<? extends Database> replicas,
+      Balancing balancing
+  ) {
+    super(transactionContext);
+    this.primary = primary;
+    this.replicas = toReplicas(replicas);
+    this.replicasByDatabase = toMap(this.replicas);
+    this.balancing = balancing;
+  }
+
+  private static List<Replica> toReplicas(Collection<? extends Database> databases) {
+    List<Replica> replicas = new ArrayList<>(databases.size());
+    for (Database database : databases) {
+      replicas.add(new Replica(database, replicas.size()));
+    }
+    return Collections.unmodifiableList(replicas);
+  }
+
+  private static Map<Database, Replica> toMap(List<Replica> replicas) {
+    Map<Database, Replica> map = new IdentityHashMap<>();
+    for (Replica replica : replicas) {
+      map.put(replica.database, replica);
+    }
+    return map;
+  }
+
+  /**
+   * Gets the primary database.
+   */
+  @Override
+  public Database getDatabase() {
+    return primary;
+  }
+
+  /**
+   * Selects a healthy replica within the maximum replication lag, falling back to the primary
+   * when no replica is available.  An unhealthy replica past its {@linkplain #getRecheckDelay() recheck delay}
+   * is checked in the background, and is skipped until the check finds it healthy.
+   */
+  @Override
+  public Database getReadOnlyDatabase() {
+    long maxLag = maxReplicationLag;
+    int size = replicas.size();
+    // Rotate the starting point so ties are spread across replicas
+    int start = size == 0 ? 0 : Math.floorMod(nextReplica.getAndIncrement(), size);
+    Replica selected = null;
+    double selectedScore = Double.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (!replica.healthy) {
+        recheck(replica);
+      }
+      if (replica.healthy && replica.replicationLag <= maxLag) {
+        double score;
+        switch (balancing) {
+          case LEAST_OUTSTANDING:
+            score = replica.outstanding.get();
+            break;
+          case LATENCY_WEIGHTED:
+            score = replica.latency * (replica.outstanding.get() + 1);
+            break;
+          default:
+            throw new AssertionError("Unexpected balancing: " + balancing);
+        }
+        if (selected == null || score < selectedScore) {
+          selected = replica;
+          selectedScore = score;
+        }
+      }
+    }
+    return selected == null ? primary : selected.database;
+  }
+
+  /**
+   * Checks an unhealthy replica again, in the background, once its recheck delay has passed.
+   * Only one caller starts a check for each delay.
+   */
+  private void recheck(Replica replica) {
+    long recheck = replica.recheckNanos.get();
+    long now = System.nanoTime();
+    if (
+        now - recheck >= 0
+        && replica.recheckNanos.compareAndSet(recheck, now + TimeUnit.MILLISECONDS.toNanos(recheckDelay))
+    ) {
+      try {
+        getAsyncExecutor().execute(() -> checkHealth(replica));
+      } catch (RejectedExecutionException e) {
+        // Checked again after the next delay
+        logger.log(Level.FINE, "Unable to recheck replica #" + replica.index, e);
+      }
+    }
+  }
+
+  /**
+   * Tracks the outstanding transactions and latency of replicas.  A {@linkplain QueryReport.ReportCursor report cursor}
+   * is tracked until it is closed.
+   */
+  @Override
+  protected <V, Ex extends Throwable> V executeOutermost(
+      Database database,
+      boolean readOnly,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    Replica replica = replicasByDatabase.get(database);
+    if (replica == null) {
+      return super.executeOutermost(database, readOnly, callable);
+    }
+    replica.outstanding.incrementAndGet();
+    long startNanos = System.nanoTime();
+    V result;
+    try {
+      result = super.executeOutermost(database, readOnly, callable);
+    } catch (Throwable t) {
+      completed(replica, startNanos, t);
+      throw t;
+    }
+    whenReleased(result, failure -> completed(replica, startNanos, failure));
+    return result;
+  }
+
+  /**
+   * Completes the tracking of a task, marking the replica unhealthy on connection exceptions.
+   *
+   * @param  failure  the failure or {@code null} when completed normally
+   */
+  private void completed(Replica replica, long startNanos, Throwable failure) {
+    replica.recordLatency(System.nanoTime() - startNanos);
+    replica.outstanding.decrementAndGet();
+    if (failure instanceof SQLException && isConnectionException((SQLException) failure)) {
+      replica.markUnhealthy(TimeUnit.MILLISECONDS.toNanos(recheckDelay));
+      logger.log(Level.WARNING, "Replica #" + replica.index + " marked unhealthy", failure);
+    }
+  }
+
+  /**
+   * Checks if an exception, or any of its chained exceptions, is a connection exception.
+   */
+  static boolean isConnectionException(SQLException e) {
+    for (SQLException next = e; next != null; next = next.getNextException()) {
+      String sqlState = next.getSQLState();
+      if (sqlState != null && sqlState.startsWith(CONNECTION_EXCEPTION_CLASS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the maximum replication lag, in milliseconds, before a replica is no longer selected.
+   */
+  public long getMaxReplicationLag() {
+    return maxReplicationLag;
+  }
+
+  /**
+   * Sets the maximum replication lag, in milliseconds, before a replica is no longer selected.
+   * Defaults to {@link Long#MAX_VALUE}.
+   *
+   * @see  #getReplicationLag(com.aoapps.dbc.Database, java.sql.Connection)
+   */
+  public void setMaxReplicationLag(long maxReplicationLag) {
+    if (maxReplicationLag < 0) {
+      throw new IllegalArgumentException("maxReplicationLag < 0: " + maxReplicationLag);
+    }
+    this.maxReplicationLag = maxReplicationLag;
+  }
+
+  /**
+   * Gets the delay, in milliseconds, before an unhealthy replica is checked again on selection.
+   */
+  public long getRecheckDelay() {
+    return recheckDelay;
+  }
+
+  /**
+   * Sets the delay, in milliseconds, before an unhealthy replica is checked again on selection.
+   * Defaults to {@link #DEFAULT_RECHECK_DELAY}.
+   */
+  public void setRecheckDelay(long recheckDelay) {
+    if (recheckDelay < 0) {
+      throw new IllegalArgumentException("recheckDelay < 0: " + recheckDelay);
+    }
+    this.recheckDelay = recheckDelay;
+  }
+
+  /**
+   * Gets the current replication lag of a replica, in milliseconds.  Called during health checks.
+   * For example, on PostgreSQL:
+   * <pre>SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)</pre>
+   *
+   * <p>This default implementation returns {@code 0}.</p>
+   *
+   * @param  conn  a read-only connection to the replica
+   */
+  @SuppressWarnings("NoopMethodInAbstractClass")
+  protected long getReplicationLag(Database replica, Connection conn) throws SQLException {
+    return 0;
+  }
+
+  /**
+   * Checks the health and replication lag of all replicas.
+   */
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      checkHealth(replica);
+    }
+  }
+
+  private void checkHealth(Replica replica) {
+    boolean healthy;
+    try (Connection conn = replica.database.getConnection(true)) {
+      healthy = conn.isValid(VALIDATION_TIMEOUT);
+      if (healthy) {
+        replica.replicationLag = getReplicationLag(replica.database, conn);
+      }
+    } catch (SQLException | RuntimeException e) {
+      logger.log(Level.FINE, "Replica #" + replica.index + " health check failed", e);
+      healthy = false;
+    }
+    if (healthy != replica.healthy) {
+      if (healthy) {
+        replica.healthy = true;
+      } else {
+        replica.markUnhealthy(TimeUnit.MILLISECONDS.toNanos(recheckDelay));
+      }
+      logger.log(Level.INFO, "Replica #" + replica.index + (healthy ? " is healthy" : " is unhealthy"));
+    }
+  }
+
+  /**
+   * Starts {@linkplain #checkHealth() checking the health} of all replicas on the given schedule.
+   *
+   * @return  the future used to stop the health checks
+   */
+  public ScheduledFuture<?> startHealthChecks(ScheduledExecutorService executor, long period, TimeUnit unit) {
+    return executor.scheduleWithFixedDelay(this::checkHealth, 0, period, unit);
+  }
+
+  /**
+   * Gets the number of replicas currently healthy and within the maximum replication lag.
+   */
+  public int getAvailableReplicaCount() {
+    long maxLag = maxReplicationLag;
+    int count = 0;
+    for (Replica replica : replicas) {
+      if (replica.healthy && replica.replicationLag <= maxLag) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes many independent reports concurrently, limiting the number of reports running at once against
+ * each {@link Database}, or each {@link DatabaseModel} for reports that select their database from a model,
+ * so the connection pool is not exhausted.  A single instance should be shared by all
+ * callers, since the limit applies across all batches run through the same instance.
+ *
+ * <p>When any report fails, the reports still running are cancelled by {@link java.sql.Statement#cancel()},
+ * the reports not yet started are skipped, and the first failure is thrown.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class ReportBatch {
+
+  /**
+   * A report and its parameters to be executed in a batch.
+   */
+  public static final class Request {
+
+    private final QueryReport report;
+    private final Map<String, ? extends Object> parameterValues;
+
+    /**
+     * Creates a new request.
+     */
+    public Request(QueryReport report, Map<String, ? extends Object> parameterValues) {
+      this.report = report;
+      this.parameterValues = parameterValues;
+    }
+
+    /**
+     * Gets the report.
+     */
+    public QueryReport getReport() {
+      return report;
+    }
+
+    /**
+     * Gets the parameters.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField")
+    public Map<String, ? extends Object> getParameterValues() {
+      return parameterValues;
+    }
+  }
+
+  private static class DefaultExecutorLazy {
+    private static final ExecutorService defaultExecutor = VirtualThreads.newExecutor(ReportBatch.class.getName());
+  }
+
+  private final Executor executor;
+  private final int maxConcurrency;
+  /**
+   * The permits per database, or per model for reports that select their database from a model.
+   */
+  private final ConcurrentMap<Object, Semaphore> permits = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new batch runner.
+   *
+   * @param  executor  the executor that runs the reports.  Tasks may block waiting for their database,
+   *                   so the executor should not be a small fixed-size pool.
+   * @param  maxConcurrency  the maximum number of reports running at once per database
+   */
+  public ReportBatch(Executor executor, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency < 1: " + maxConcurrency);
+    }
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Creates a new batch runner using virtual threads when available, otherwise a cached pool of daemon threads.
+   *
+   * @param  maxConcurrency  the maximum number of reports running at once per database
+   */
+  public ReportBatch(int maxConcurrency) {
+    this(DefaultExecutorLazy.defaultExecutor, maxConcurrency);
+  }
+
+  /**
+   * Gets the maximum number of reports running at once per database.
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Executes the reports concurrently, waiting for all to complete.
+   *
+   * @return  the results, in the same order as the requests
+   *
+   * @throws  SQLException  the first failure, after all other reports have been cancelled
+   */
+  public List<ReportResult> executeReports(List<? extends Request> requests) throws SQLException {
+    int size = requests.size();
+    ReportCancellation[] cancellations = new ReportCancellation[size];
+    List<CompletableFuture<ReportResult>> futures = new ArrayList<>(size);
+    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    for (int i = 0; i < size; i++) {
+      cancellations[i] = new ReportCancellation();
+      futures.add(new CompletableFuture<>());
+    }
+    for (int i = 0; i < size; i++) {
+      Request request = requests.get(i);
+      ReportCancellation cancellation = cancellations[i];
+      CompletableFuture<ReportResult> future = futures.get(i);
+      QueryReport report = request.report;
+      DatabaseModel model = report.getModel();
+      Semaphore semaphore = permits.computeIfAbsent(
+          model != null ? model : report.getDatabase(),
+          key -> new Semaphore(maxConcurrency, true)
+      );
+      executor.execute(() -> {
+        try {
+          semaphore.acquire();
+          try {
+            cancellation.checkCancelled();
+            future.complete(report.executeReport(request.parameterValues, cancellation));
+          } finally {
+            semaphore.release();
+          }
+        } catch (Throwable t) {
+          if (t instanceof InterruptedException) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+          }
+          future.completeExceptionally(t);
+          if (firstFailure.compareAndSet(null, t)) {
+            cancelAll(cancellations);
+          }
+        }
+      });
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[size])).get();
+    } catch (InterruptedException e) {
+      cancelAll(cancellations);
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+      throw new SQLException(e);
+    } catch (ExecutionException e) {
+      // Failure recorded in firstFailure
+    }
+    Throwable failure = firstFailure.get();
+    if (failure != null) {
+      throw Futures.rethrow(failure);
+    }
+    List<ReportResult> results = new ArrayList<>(size);
+    for (CompletableFuture<ReportResult> future : futures) {
+      results.add(future.join());
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Cancels all reports in a batch, ignoring any failures to cancel.
+   */
+  private static void cancelAll(ReportCancellation[] cancellations) {
+    for (ReportCancellation cancellation : cancellations) {
+      try {
+        cancellation.cancel();
+      } catch (SQLException | RuntimeException e) {
+        // Ignored, the report will still be skipped if not yet started
+      }
+    }
+  }
+}
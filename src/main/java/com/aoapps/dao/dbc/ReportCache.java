@@ -0,0 +1,635 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An opt-in cache of report results, keyed on report name and the resolved SQL parameters.
+ * Entries expire after their {@linkplain QueryReport#getCacheTimeToLive() time-to-live}, and the least-recently
+ * used entries are evicted once the total estimated size of the cached results exceeds the maximum size.
+ * Results spilled to a temporary file also count the size of the file, which stays mapped while they are cached.
+ *
+ * <p>Concurrent requests for the same report and parameters are coalesced, so the query is only run once
+ * while other callers wait for its result.</p>
+ *
+ * <p>A {@linkplain #setStore(com.aoapps.dao.dbc.ReportResultStore) store} may be added as a second level,
+ * sharing results between servers in a compact binary form.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class ReportCache {
+
+  private static final Logger logger = Logger.getLogger(ReportCache.class.getName());
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * The key of a cache entry.
+   */
+  private static final class Key {
+
+    private final String name;
+    private final Object[] sqlParams;
+    private final int hash;
+
+    private Key(String name, Object[] sqlParams) {
+      this.name = name;
+      this.sqlParams = sqlParams;
+      this.hash = name.hashCode() * 31 + Arrays.deepHashCode(sqlParams);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return
+          hash == other.hash
+              && name.equals(other.name)
+              && Arrays.deepEquals(sqlParams, other.sqlParams);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * A cached result.
+   */
+  private static final class Entry {
+
+    private final ReportResult result;
+    private final long size;
+    private final long expiresNanos;
+
+    private Entry(ReportResult result, long size, long expiresNanos) {
+      this.result = result;
+      this.size = size;
+      this.expiresNanos = expiresNanos;
+    }
+  }
+
+  private final long maxSize;
+  private final long defaultTimeToLive;
+
+  /**
+   * The cached entries, in access order.  All access is synchronized on the map.
+   */
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  /**
+   * The queries currently being run, used to coalesce concurrent identical requests.
+   */
+  private final ConcurrentMap<Key, CompletableFuture<ReportResult>> loading = new ConcurrentHashMap<>();
+
+  /**
+   * The number of times each report has been {@linkplain #invalidate(java.lang.String) invalidated}.
+   * A load only caches its result when its report has not been invalidated since the load started.
+   * Incremented while holding the lock of {@link #entries}.
+   */
+  private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong expirationCount = new AtomicLong();
+  private final AtomicLong storeHitCount = new AtomicLong();
+  private final AtomicLong refreshCount = new AtomicLong();
+  private final AtomicLong bypassCount = new AtomicLong();
+
+  /**
+   * The requests for a tracked report and parameters, shared by all callers tracking it.
+   */
+  private static final class Tracking {
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * The number of callers tracking, only accessed within the atomic compute methods of {@link #tracking}.
+     */
+    private int users;
+  }
+
+  /**
+   * The requests for each tracked report and parameters.
+   *
+   * @see  #track(com.aoapps.dao.dbc.QueryReport, java.util.Map)
+   */
+  private final ConcurrentMap<Key, Tracking> tracking = new ConcurrentHashMap<>();
+
+  private volatile ReportResultStore store;
+
+  /**
+   * Creates a new report cache.
+   *
+   * @param  maxSize  the maximum total {@linkplain ReportResult#getEstimatedSize() estimated size} of all cached
+   *                  results, in bytes, including the files of spilled results
+   * @param  defaultTimeToLive  the time-to-live, in milliseconds, for reports that do not specify their own
+   *
+   * @see  QueryReport#getCacheTimeToLive()
+   */
+  public ReportCache(long maxSize, long defaultTimeToLive) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize < 0: " + maxSize);
+    }
+    if (defaultTimeToLive < 0) {
+      throw new IllegalArgumentException("defaultTimeToLive < 0: " + defaultTimeToLive);
+    }
+    this.maxSize = maxSize;
+    this.defaultTimeToLive = defaultTimeToLive;
+  }
+
+  /**
+   * Gets the maximum total estimated size of all cached results, in bytes.
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the default time-to-live, in milliseconds.
+   */
+  public long getDefaultTimeToLive() {
+    return defaultTimeToLive;
+  }
+
+  /**
+   * Gets the second-level store shared between servers.
+   *
+   * @return  the store or {@code null} when none
+   */
+  public ReportResultStore getStore() {
+    return store;
+  }
+
+  /**
+   * Sets the second-level store shared between servers.  Results not in this cache are read from the store
+   * before running the query, and the results of queries are written to the store.  Failures of the store are
+   * logged and otherwise ignored.
+   *
+   * @param  store  the store or {@code null} for none, which is the default
+   *
+   * @see  ReportResult#writeTo(java.io.OutputStream, boolean)
+   */
+  public void setStore(ReportResultStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Gets the key of a result in the store, which is the report name and a digest of the report SQL and the
+   * encoded parameters.  The SQL is included so servers running different versions of a report, such as
+   * during a rolling deployment, do not share results.
+   *
+   * @return  the key or {@code null} when the parameters cannot be encoded
+   */
+  private static String getStoreKey(QueryReport report, Key key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+        byte[] sql = report.getSql().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(sql.length);
+        out.write(sql);
+        ValueCodec.write(out, Arrays.asList(key.sqlParams));
+      }
+      byte[] hash = digest.digest();
+      StringBuilder storeKey = new StringBuilder(key.name.length() + 1 + hash.length * 2).append(key.name).append('/');
+      for (byte b : hash) {
+        storeKey.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+      }
+      return storeKey.toString();
+    } catch (NotSerializableException e) {
+      logger.log(Level.FINE, "Parameters not encodable, not using store: " + key.name, e);
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is required by all Java implementations", e);
+    }
+  }
+
+  /**
+   * Reads a result from the store.
+   *
+   * @return  the result or {@code null} when not stored or unable to read
+   */
+  private static ReportResult readStore(ReportResultStore store, QueryReport report, String storeKey) {
+    try {
+      byte[] encoded = store.get(report.getName(), storeKey);
+      return encoded == null ? null : report.readResult(new ByteArrayInputStream(encoded));
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to read result from store: " + report.getName(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes a result to the store.
+   */
+  private static void writeStore(
+      ReportResultStore store,
+      QueryReport report,
+      String storeKey,
+      ReportResult result,
+      long timeToLive
+  ) {
+    try {
+      ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      result.writeTo(bout, true);
+      store.put(report.getName(), storeKey, bout.toByteArray(), timeToLive);
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to write result to store: " + report.getName(), e);
+    }
+  }
+
+  /**
+   * Gets the time-to-live, in milliseconds, for the given report.
+   */
+  long getTimeToLive(QueryReport report) {
+    long timeToLive = report.getCacheTimeToLive();
+    return timeToLive == -1 ? defaultTimeToLive : timeToLive;
+  }
+
+  /**
+   * Gets a cached, unexpired result.
+   */
+  private ReportResult get(Key key) {
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (System.nanoTime() - entry.expiresNanos >= 0) {
+        entries.remove(key);
+        size -= entry.size;
+        expirationCount.incrementAndGet();
+        return null;
+      }
+      return entry.result;
+    }
+  }
+
+  /**
+   * Gets the number of times a report has been invalidated.
+   */
+  private long getInvalidations(String reportName) {
+    AtomicLong count = invalidations.get(reportName);
+    return count == null ? 0 : count.get();
+  }
+
+  /**
+   * Adds a result to the cache, evicting the least-recently used entries as needed.
+   *
+   * @param  loadInvalidations  the {@linkplain #getInvalidations(java.lang.String) invalidations} of the report
+   *                            when the result started loading.  The result is not cached when the report has
+   *                            since been invalidated.
+   */
+  private void put(Key key, ReportResult result, long timeToLive, long loadInvalidations) {
+    if (timeToLive == 0) {
+      return;
+    }
+    long resultSize = getCachedSize(result);
+    if (resultSize > maxSize) {
+      // Would evict everything and still not fit
+      return;
+    }
+    Entry entry = new Entry(result, resultSize, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeToLive));
+    synchronized (entries) {
+      if (getInvalidations(key.name) != loadInvalidations) {
+        return;
+      }
+      Entry old = entries.put(key, entry);
+      if (old != null) {
+        size -= old.size;
+      }
+      size += resultSize;
+      Iterator<Entry> iter = entries.values().iterator();
+      while (size > maxSize && iter.hasNext()) {
+        Entry eldest = iter.next();
+        iter.remove();
+        size -= eldest.size;
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Gets the size of a result while cached, which includes the mapped file of spilled table data.
+   * The heap estimate of spilled table data is only its row offsets, which is far less than the
+   * file kept while the result is cached.
+   *
+   * @see  QueryReport#getSpillThreshold()
+   */
+  private static long getCachedSize(ReportResult result) {
+    long resultSize = result.getEstimatedSize();
+    List<List<Object>> tableData = result.getTableData();
+    if (tableData instanceof SpillTableData) {
+      resultSize += ((SpillTableData) tableData).getFileSize();
+    }
+    return resultSize;
+  }
+
+  /**
+   * Executes the report, returning a cached result when available.
+   * When another thread is already running the same report with the same parameters,
+   * waits for and shares its result.
+   *
+   * <p>Within a transaction, the report sees the uncommitted changes of the transaction, so the
+   * cache and store are bypassed: the report is always executed, and its result is not shared.</p>
+   *
+   * @see  QueryReport#executeReport(java.util.Map)
+   */
+  public ReportResult executeReport(QueryReport report, Map<String, ? extends Object> parameterValues) throws SQLException {
+    if (report.isInTransaction()) {
+      bypassCount.incrementAndGet();
+      return report.executeReport(parameterValues);
+    }
+    Key key = new Key(report.getName(), report.getSqlParams(parameterValues));
+    if (!tracking.isEmpty()) {
+      Tracking tracked = tracking.get(key);
+      if (tracked != null) {
+        tracked.requestCount.incrementAndGet();
+      }
+    }
+    ReportResult result = get(key);
+    if (result != null) {
+      hitCount.incrementAndGet();
+      return result;
+    }
+    return load(key, report, parameterValues, false);
+  }
+
+  /**
+   * Executes the report and caches its result, replacing any cached result.  This is typically done shortly
+   * before the cached result expires, so requests do not wait for the report.  The {@linkplain #getStore() store}
+   * is written, but not read.  When another thread is already running the same report with the same parameters,
+   * waits for and shares its result.
+   *
+   * <p>Within a transaction, the report is executed without caching its result, as with
+   * {@link #executeReport(com.aoapps.dao.dbc.QueryReport, java.util.Map)}.</p>
+   *
+   * @see  ReportWarmer
+   */
+  public ReportResult refresh(QueryReport report, Map<String, ? extends Object> parameterValues) throws SQLException {
+    if (report.isInTransaction()) {
+      bypassCount.incrementAndGet();
+      return report.executeReport(parameterValues);
+    }
+    return load(new Key(report.getName(), report.getSqlParams(parameterValues)), report, parameterValues, true);
+  }
+
+  /**
+   * Counts the requests for the given report and parameters, until
+   * {@linkplain #untrack(com.aoapps.dao.dbc.QueryReport, java.util.Map) untracked} by each caller that
+   * tracked it.
+   *
+   * @return  the number of requests, which is shared by all callers tracking the same report and parameters
+   */
+  AtomicLong track(QueryReport report, Map<String, ? extends Object> parameterValues) {
+    return tracking.compute(
+        new Key(report.getName(), report.getSqlParams(parameterValues)),
+        (key, tracked) -> {
+          if (tracked == null) {
+            tracked = new Tracking();
+          }
+          tracked.users++;
+          return tracked;
+        }
+    ).requestCount;
+  }
+
+  /**
+   * Stops counting the requests for the given report and parameters once no other caller is tracking it.
+   */
+  void untrack(QueryReport report, Map<String, ? extends Object> parameterValues) {
+    tracking.computeIfPresent(
+        new Key(report.getName(), report.getSqlParams(parameterValues)),
+        (key, tracked) -> --tracked.users == 0 ? null : tracked
+    );
+  }
+
+  /**
+   * Loads a result, unless already being loaded by another thread.
+   *
+   * @param  refresh  {@code true} to replace any cached result and not read the store
+   */
+  private ReportResult load(
+      Key key,
+      QueryReport report,
+      Map<String, ? extends Object> parameterValues,
+      boolean refresh
+  ) throws SQLException {
+    CompletableFuture<ReportResult> future = new CompletableFuture<>();
+    CompletableFuture<ReportResult> existing = loading.putIfAbsent(key, future);
+    if (existing != null) {
+      coalescedCount.incrementAndGet();
+      return Futures.get(existing);
+    }
+    try {
+      long loadInvalidations = getInvalidations(key.name);
+      // Check again, in case another thread finished loading between the lookup and becoming the loader
+      ReportResult result = refresh ? null : get(key);
+      if (result != null) {
+        hitCount.incrementAndGet();
+      } else {
+        long timeToLive = getTimeToLive(report);
+        ReportResultStore currentStore = timeToLive == 0 ? null : store;
+        String storeKey = currentStore == null ? null : getStoreKey(report, key);
+        if (storeKey != null && !refresh) {
+          result = readStore(currentStore, report, storeKey);
+        }
+        if (result != null) {
+          storeHitCount.incrementAndGet();
+        } else {
+          (refresh ? refreshCount : missCount).incrementAndGet();
+          result = report.executeReport(parameterValues);
+          if (storeKey != null && getInvalidations(key.name) == loadInvalidations) {
+            writeStore(currentStore, report, storeKey, result, timeToLive);
+            if (getInvalidations(key.name) != loadInvalidations) {
+              // Invalidated while writing, and the write may have landed after the store was invalidated
+              invalidateStore(currentStore, key.name);
+            }
+          }
+        }
+        put(key, result, timeToLive, loadInvalidations);
+      }
+      future.complete(result);
+      return result;
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      throw t;
+    } finally {
+      loading.remove(key, future);
+    }
+  }
+
+  /**
+   * Removes all stored results for a report.
+   */
+  private static void invalidateStore(ReportResultStore store, String reportName) {
+    try {
+      store.invalidate(reportName);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to invalidate store: " + reportName, e);
+    }
+  }
+
+  /**
+   * Removes all cached results for the given report, including from the {@linkplain #getStore() store}.
+   * Results of the report still being loaded are not cached, and later requests do not wait for them.
+   */
+  public void invalidate(String reportName) {
+    synchronized (entries) {
+      invalidations.computeIfAbsent(reportName, name -> new AtomicLong()).incrementAndGet();
+    }
+    loading.keySet().removeIf(key -> key.name.equals(reportName));
+    ReportResultStore currentStore = store;
+    if (currentStore != null) {
+      invalidateStore(currentStore, reportName);
+    }
+    synchronized (entries) {
+      Iterator<Map.Entry<Key, Entry>> iter = entries.entrySet().iterator();
+      while (iter.hasNext()) {
+        Map.Entry<Key, Entry> mapEntry = iter.next();
+        if (mapEntry.getKey().name.equals(reportName)) {
+          iter.remove();
+          size -= mapEntry.getValue().size;
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all cached results.  The {@linkplain #getStore() store}, being shared, is not cleared.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      size = 0;
+    }
+  }
+
+  /**
+   * Gets the number of cached results, which may include expired results not yet removed.
+   */
+  public int getEntryCount() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Gets the total estimated size of all cached results, in bytes.
+   */
+  public long getSize() {
+    synchronized (entries) {
+      return size;
+    }
+  }
+
+  /**
+   * Gets the number of requests served from the cache.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets the number of requests served from the {@linkplain #getStore() store}.
+   */
+  public long getStoreHitCount() {
+    return storeHitCount.get();
+  }
+
+  /**
+   * Gets the number of reports executed by {@link #refresh(com.aoapps.dao.dbc.QueryReport, java.util.Map)}.
+   */
+  public long getRefreshCount() {
+    return refreshCount.get();
+  }
+
+  /**
+   * Gets the number of requests executed within a transaction, bypassing the cache.
+   */
+  public long getBypassCount() {
+    return bypassCount.get();
+  }
+
+  /**
+   * Gets the number of requests that ran the query.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Gets the number of requests that waited for the result of an identical request already running.
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  /**
+   * Gets the number of results evicted to stay within the maximum size.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Gets the number of results removed after their time-to-live.
+   */
+  public long getExpirationCount() {
+    return expirationCount.get();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A handle that cancels a running report from another thread by calling {@link Statement#cancel()}
+ * on its statement.  A report that has not yet started its query will fail as soon as it does.
+ *
+ * <p>Some drivers ignore a cancel that arrives after the statement is registered but before the query
+ * reaches the database.  The query then runs to completion, but the report still fails as soon as the
+ * query returns, without reading any rows.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  QueryReport#executeReport(java.util.Map, com.aoapps.dao.dbc.ReportCancellation)
+ */
+public class ReportCancellation {
+
+  private final Object lock = new Object();
+  private boolean cancelled;
+  private Statement statement;
+
+  /**
+   * Cancels the report.  Has no effect once the report has completed.
+   */
+  public void cancel() throws SQLException {
+    Statement toCancel;
+    synchronized (lock) {
+      cancelled = true;
+      toCancel = statement;
+    }
+    if (toCancel != null) {
+      toCancel.cancel();
+    }
+  }
+
+  /**
+   * Checks if this has been cancelled.
+   */
+  public boolean isCancelled() {
+    synchronized (lock) {
+      return cancelled;
+    }
+  }
+
+  /**
+   * Throws an exception when cancelled.
+   */
+  void checkCancelled() throws SQLException {
+    if (isCancelled()) {
+      throw new SQLException("Report cancelled");
+    }
+  }
+
+  /**
+   * Registers the statement that is about to be executed.  The flag is checked under the same lock,
+   * so a concurrent {@link #cancel()} either sees the statement or is seen here.
+   *
+   * @throws  SQLException  when already cancelled
+   */
+  void register(Statement statement) throws SQLException {
+    synchronized (lock) {
+      if (cancelled) {
+        throw new SQLException("Report cancelled");
+      }
+      this.statement = statement;
+    }
+  }
+
+  /**
+   * Unregisters the statement once no longer executing.
+   */
+  void unregister(Statement statement) {
+    synchronized (lock) {
+      if (this.statement == statement) {
+        this.statement = null;
+      }
+    }
+  }
+}
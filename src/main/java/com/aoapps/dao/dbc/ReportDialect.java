@@ -0,0 +1,111 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import java.util.List;
+
+/**
+ * The SQL syntax that differs between databases in the SQL generated around a report query, which is the
+ * quoting of identifiers and the clause that pages the rows.  The report query itself is never rewritten.
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @see  QueryReport#getDialect()
+ */
+public class ReportDialect {
+
+  /**
+   * Standard SQL, with identifiers in double quotes and paging by {@code OFFSET ... FETCH}, as supported by
+   * PostgreSQL, Oracle 12c and newer, SQL Server 2012 and newer, DB2, H2, and Derby.
+   */
+  public static final ReportDialect ANSI = new ReportDialect('"');
+
+  /**
+   * MySQL and MariaDB, with identifiers in backticks and paging by {@code LIMIT ... OFFSET}.  This works with or
+   * without the {@code ANSI_QUOTES} SQL mode.
+   */
+  public static final ReportDialect MYSQL = new ReportDialect('`') {
+    @Override
+    public void appendPaging(StringBuilder sql, List<Object> params, int offset, int limit) {
+      sql.append("\nLIMIT ? OFFSET ?");
+      params.add(limit);
+      params.add(offset);
+    }
+  };
+
+  private final char identifierQuote;
+
+  /**
+   * Creates a new dialect.
+   *
+   * @param  identifierQuote  the character before and after a quoted identifier, which is doubled when in the
+   *                          identifier
+   */
+  protected ReportDialect(char identifierQuote) {
+    this.identifierQuote = identifierQuote;
+  }
+
+  /**
+   * Quotes an identifier, such as a column name as returned by the report query.
+   *
+   * @throws  IllegalArgumentException  when the identifier is empty or contains a NUL character
+   */
+  public String quoteIdentifier(String identifier) {
+    if (identifier.isEmpty()) {
+      throw new IllegalArgumentException("Empty identifier");
+    }
+    if (identifier.indexOf('\0') != -1) {
+      throw new IllegalArgumentException("Invalid identifier: " + identifier);
+    }
+    String quote = String.valueOf(identifierQuote);
+    return quote + identifier.replace(quote, quote + quote) + quote;
+  }
+
+  /**
+   * Appends the given identifiers, quoted and comma-separated.
+   */
+  public StringBuilder appendIdentifiers(StringBuilder sql, List<String> identifiers) {
+    for (int i = 0, size = identifiers.size(); i < size; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append(quoteIdentifier(identifiers.get(i)));
+    }
+    return sql;
+  }
+
+  /**
+   * Appends, on its own line, the clause that skips the given number of rows and returns at most the given
+   * number of rows, after an {@code ORDER BY} when there is one.  The values are bound as parameters, which are
+   * added in the order of the clause.
+   *
+   * <p>This default implementation appends {@code OFFSET ? ROWS FETCH NEXT ? ROWS ONLY}.</p>
+   *
+   * @param  params  the parameters of the clause are appended here
+   */
+  public void appendPaging(StringBuilder sql, List<Object> params, int offset, int limit) {
+    sql.append("\nOFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+    params.add(offset);
+    params.add(limit);
+  }
+}
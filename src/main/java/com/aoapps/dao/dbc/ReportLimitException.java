@@ -0,0 +1,55 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+
+/**
+ * Thrown when a report exceeds one of its {@link ReportLimits}.
+ *
+ * @see  QueryReport#getLimits()
+ */
+public class ReportLimitException extends SQLException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The SQL state when a time limit is exceeded, matching a cancelled query.
+   */
+  public static final String TIMEOUT_SQL_STATE = "57014";
+
+  /**
+   * The SQL state when a row or size limit is exceeded, matching a program limit exceeded.
+   */
+  public static final String LIMIT_SQL_STATE = "54000";
+
+  /**
+   * Creates a new exception.
+   *
+   * @param  sqlState  either {@link #TIMEOUT_SQL_STATE} or {@link #LIMIT_SQL_STATE}
+   */
+  public ReportLimitException(String reason, String sqlState) {
+    super(reason, sqlState);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits on the resources used by a single execution of a report, protecting a shared server
+ * from a runaway report.  The time limit is applied both as the statement's
+ * {@linkplain java.sql.Statement#setQueryTimeout(int) query timeout} and while reading rows, and
+ * the row and size limits are checked as each row is read.
+ *
+ * <p>Exceeding a limit fails the report with a {@link ReportLimitException}.</p>
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @see  QueryReport#getLimits()
+ */
+public final class ReportLimits {
+
+  /**
+   * No limits.
+   */
+  public static final ReportLimits UNLIMITED = new ReportLimits(0, 0, 0);
+
+  private static volatile ReportLimits defaultLimits = UNLIMITED;
+
+  /**
+   * Gets the limits used by reports that do not provide their own.
+   *
+   * @see  QueryReport#getLimits()
+   */
+  public static ReportLimits getDefault() {
+    return defaultLimits;
+  }
+
+  /**
+   * Sets the limits used by reports that do not provide their own.
+   *
+   * @see  QueryReport#getLimits()
+   */
+  public static void setDefault(ReportLimits limits) {
+    defaultLimits = Objects.requireNonNull(limits);
+  }
+
+  private final long timeout;
+  private final long maxRows;
+  private final long maxSize;
+
+  /**
+   * Creates a new set of limits.
+   *
+   * @param  timeout  the maximum time, in milliseconds, from executing the query to reading its last row,
+   *                  or {@code 0} for no limit
+   * @param  maxRows  the maximum number of rows, or {@code 0} for no limit
+   * @param  maxSize  the maximum {@linkplain QueryReport.ReportResult#getEstimatedSize() estimated size},
+   *                  in bytes, of the rows retained in memory, or {@code 0} for no limit.
+   *                  Streamed rows are not retained and do not count toward this limit.
+   */
+  public ReportLimits(long timeout, long maxRows, long maxSize) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout < 0: " + timeout);
+    }
+    if (maxRows < 0) {
+      throw new IllegalArgumentException("maxRows < 0: " + maxRows);
+    }
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize < 0: " + maxSize);
+    }
+    this.timeout = timeout;
+    this.maxRows = maxRows;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Gets the maximum time, in milliseconds, from executing the query to reading its last row.
+   *
+   * @return  the time limit or {@code 0} for no limit
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Gets the timeout in whole seconds, rounded up, as used by {@link java.sql.Statement#setQueryTimeout(int)}.
+   */
+  int getQueryTimeoutSeconds() {
+    long seconds = TimeUnit.MILLISECONDS.toSeconds(timeout + 999);
+    return seconds > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) seconds;
+  }
+
+  /**
+   * Gets the maximum number of rows.
+   *
+   * @return  the row limit or {@code 0} for no limit
+   */
+  public long getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * Gets the maximum estimated size, in bytes, of the rows retained in memory.
+   *
+   * @return  the size limit or {@code 0} for no limit
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns a copy with the given time limit.
+   *
+   * @see  #getTimeout()
+   */
+  public ReportLimits withTimeout(long timeout) {
+    return timeout == this.timeout ? this : new ReportLimits(timeout, maxRows, maxSize);
+  }
+
+  /**
+   * Returns a copy with the given row limit.
+   *
+   * @see  #getMaxRows()
+   */
+  public ReportLimits withMaxRows(long maxRows) {
+    return maxRows == this.maxRows ? this : new ReportLimits(timeout, maxRows, maxSize);
+  }
+
+  /**
+   * Returns a copy with the given size limit.
+   *
+   * @see  #getMaxSize()
+   */
+  public ReportLimits withMaxSize(long maxSize) {
+    return maxSize == this.maxSize ? this : new ReportLimits(timeout, maxRows, maxSize);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof ReportLimits)) {
+      return false;
+    }
+    ReportLimits other = (ReportLimits) obj;
+    return
+        timeout == other.timeout
+            && maxRows == other.maxRows
+            && maxSize == other.maxSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return (Long.hashCode(timeout) * 31 + Long.hashCode(maxRows)) * 31 + Long.hashCode(maxSize);
+  }
+
+  @Override
+  public String toString() {
+    return ReportLimits.class.getSimpleName()
+        + "(timeout=" + timeout
+        + ", maxRows=" + maxRows
+        + ", maxSize=" + maxSize
+        + ')';
+  }
+}
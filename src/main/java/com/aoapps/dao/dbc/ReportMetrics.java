@@ -0,0 +1,233 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A registry of {@link ReportStatistics} by report name, with a log of slow reports.
+ * May be exported via JMX with {@link #register(java.lang.String)}.
+ *
+ * <p>Slow reports are logged at {@link Level#WARNING} with their SQL and parameter values.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  QueryReport#getMetrics()
+ */
+public class ReportMetrics {
+
+  private static final Logger logger = Logger.getLogger(ReportMetrics.class.getName());
+
+  private static volatile ReportMetrics defaultMetrics = new ReportMetrics();
+
+  /**
+   * Gets the metrics used by reports that do not provide their own.
+   *
+   * @see  QueryReport#getMetrics()
+   */
+  public static ReportMetrics getDefault() {
+    return defaultMetrics;
+  }
+
+  /**
+   * Sets the metrics used by reports that do not provide their own.
+   *
+   * @see  QueryReport#getMetrics()
+   */
+  public static void setDefault(ReportMetrics metrics) {
+    defaultMetrics = Objects.requireNonNull(metrics);
+  }
+
+  private final ConcurrentMap<String, ReportStatistics> statistics = new ConcurrentHashMap<>();
+
+  private volatile long slowThreshold;
+
+  /**
+   * The name registered with JMX, or {@code null} when not registered.
+   */
+  private String jmxName;
+
+  /**
+   * Gets the time, in nanoseconds, after which an execution is logged as slow.
+   *
+   * @return  the threshold or {@code 0} when slow reports are not logged
+   */
+  public long getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  /**
+   * Sets the time after which an execution is logged as slow.
+   *
+   * @param  threshold  the threshold or {@code 0} to not log slow reports
+   */
+  public void setSlowThreshold(long threshold, TimeUnit unit) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold < 0: " + threshold);
+    }
+    this.slowThreshold = unit.toNanos(threshold);
+  }
+
+  /**
+   * Gets the statistics of a report.
+   *
+   * @return  the statistics or {@code null} when the report has not been executed
+   */
+  public ReportStatistics getStatistics(String reportName) {
+    return statistics.get(reportName);
+  }
+
+  /**
+   * Gets the statistics of all reports executed, sorted by report name.
+   *
+   * @return  an unmodifiable snapshot
+   */
+  public SortedMap<String, ReportStatistics> getStatistics() {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(statistics));
+  }
+
+  /**
+   * Records an execution of a report, logging it when slow.
+   *
+   * @param  phaseNanos  the time of each {@linkplain ReportStatistics.Phase phase}, by ordinal,
+   *                     or {@code -1} for phases not reached
+   */
+  void record(
+      String reportName,
+      String sql,
+      Object[] sqlParams,
+      long nanos,
+      long[] phaseNanos,
+      long rows,
+      long bytes,
+      boolean failed
+  ) {
+    ReportStatistics stats = statistics.get(reportName);
+    if (stats == null) {
+      ReportStatistics newStats = new ReportStatistics(reportName);
+      stats = statistics.putIfAbsent(reportName, newStats);
+      if (stats == null) {
+        stats = newStats;
+        registerStatistics(newStats);
+      }
+    }
+    long threshold = slowThreshold;
+    boolean slow = threshold > 0 && nanos > threshold;
+    stats.record(nanos, phaseNanos, rows, bytes, failed, slow);
+    if (slow && logger.isLoggable(Level.WARNING)) {
+      logger.log(
+          Level.WARNING,
+          "Slow report: {0}: {1} ms, {2} rows{3}\nSQL: {4}\nParameters: {5}",
+          new Object[]{
+              reportName,
+              TimeUnit.NANOSECONDS.toMillis(nanos),
+              rows,
+              failed ? ", failed" : "",
+              sql,
+              Arrays.deepToString(sqlParams)
+          }
+      );
+    }
+  }
+
+  private ObjectName getObjectName(String reportName) throws JMException {
+    assert Thread.holdsLock(this);
+    return new ObjectName(
+        TransactionMetrics.JMX_DOMAIN + ":type=ReportStatistics,metrics=" + ObjectName.quote(jmxName)
+            + ",name=" + ObjectName.quote(reportName)
+    );
+  }
+
+  /**
+   * Registers the statistics of a report seen after {@link #register(java.lang.String)}.
+   */
+  private synchronized void registerStatistics(ReportStatistics stats) {
+    if (jmxName != null) {
+      try {
+        ObjectName objectName = getObjectName(stats.getReportName());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (!server.isRegistered(objectName)) {
+          server.registerMBean(stats, objectName);
+        }
+      } catch (JMException e) {
+        logger.log(Level.WARNING, "Unable to register statistics of report: " + stats.getReportName(), e);
+      }
+    }
+  }
+
+  /**
+   * Registers the statistics of each report with the platform MBean server, under the name
+   * <code>{@value TransactionMetrics#JMX_DOMAIN}:type=ReportStatistics,metrics=<i>name</i>,name=<i>reportName</i></code>.
+   * Reports first executed later are registered as they are seen.
+   *
+   * @throws  IllegalStateException  when already registered
+   *
+   * @see  #unregister()
+   */
+  public synchronized void register(String name) throws JMException {
+    if (jmxName != null) {
+      throw new IllegalStateException("Already registered: " + jmxName);
+    }
+    jmxName = Objects.requireNonNull(name);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (Map.Entry<String, ReportStatistics> entry : statistics.entrySet()) {
+      ObjectName objectName = getObjectName(entry.getKey());
+      if (!server.isRegistered(objectName)) {
+        server.registerMBean(entry.getValue(), objectName);
+      }
+    }
+  }
+
+  /**
+   * Unregisters the statistics of each report from the platform MBean server.
+   *
+   * @see  #register(java.lang.String)
+   */
+  public synchronized void unregister() throws JMException {
+    if (jmxName != null) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      for (String reportName : statistics.keySet()) {
+        ObjectName objectName = getObjectName(reportName);
+        if (server.isRegistered(objectName)) {
+          server.unregisterMBean(objectName);
+        }
+      }
+      jmxName = null;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+
+/**
+ * One page of a report.
+ *
+ * @see  QueryReport#executeReport(java.util.Map, com.aoapps.dao.dbc.PageRequest)
+ */
+public final class ReportPage {
+
+  private final PageRequest request;
+  private final ReportResult result;
+  private final PageRequest nextPage;
+
+  ReportPage(PageRequest request, ReportResult result, PageRequest nextPage) {
+    this.request = request;
+    this.result = result;
+    this.nextPage = nextPage;
+  }
+
+  /**
+   * Gets the request this page was selected by.
+   */
+  public PageRequest getRequest() {
+    return request;
+  }
+
+  /**
+   * Gets the columns and rows of this page.
+   */
+  public ReportResult getResult() {
+    return result;
+  }
+
+  /**
+   * Checks if there are more rows after this page.
+   */
+  public boolean hasNextPage() {
+    return nextPage != null;
+  }
+
+  /**
+   * Gets the request for the following page.
+   *
+   * @return  the request or {@code null} when this is the last page
+   */
+  public PageRequest getNextPage() {
+    return nextPage;
+  }
+}
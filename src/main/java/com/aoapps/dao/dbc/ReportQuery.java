@@ -0,0 +1,434 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Filtering, grouping, aggregation, and sorting applied by the database to the results of a report.
+ * The report query is wrapped as a derived table, so only the reduced results are transferred.
+ * Column names are those returned by the report query, and are always quoted as
+ * {@linkplain QueryReport#getDialect() the dialect of the report} requires; values are always
+ * passed as parameters.
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @see  QueryReport#executeReport(java.util.Map, com.aoapps.dao.dbc.ReportQuery)
+ */
+public final class ReportQuery {
+
+  /**
+   * A comparison of a column.
+   */
+  public enum Operator {
+    EQUAL("="),
+    NOT_EQUAL("<>"),
+    LESS_THAN("<"),
+    LESS_THAN_OR_EQUAL("<="),
+    GREATER_THAN(">"),
+    GREATER_THAN_OR_EQUAL(">="),
+    LIKE("LIKE"),
+    /**
+     * The value is a {@link Collection} of values.
+     */
+    IN("IN"),
+    /**
+     * No value.
+     */
+    IS_NULL("IS NULL"),
+    /**
+     * No value.
+     */
+    IS_NOT_NULL("IS NOT NULL");
+
+    private final String sql;
+
+    private Operator(String sql) {
+      this.sql = sql;
+    }
+  }
+
+  /**
+   * An aggregate function.
+   */
+  public enum Function {
+    /**
+     * Counts rows when no column is given, otherwise counts non-null values.
+     */
+    COUNT,
+    COUNT_DISTINCT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+  }
+
+  /**
+   * A condition on the value of a column.
+   */
+  public static final class Filter {
+
+    private final String column;
+    private final Operator operator;
+    private final Object value;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param  value  the value compared to, a {@link Collection} for {@link Operator#IN}, or {@code null}
+     *                for {@link Operator#IS_NULL} and {@link Operator#IS_NOT_NULL}
+     */
+    public Filter(String column, Operator operator, Object value) {
+      this.column = Objects.requireNonNull(column, "column");
+      this.operator = Objects.requireNonNull(operator, "operator");
+      switch (operator) {
+        case IS_NULL:
+        case IS_NOT_NULL:
+          if (value != null) {
+            throw new IllegalArgumentException(operator + " does not have a value");
+          }
+          this.value = null;
+          break;
+        case IN:
+          if (!(value instanceof Collection)) {
+            throw new IllegalArgumentException(operator + " requires a collection");
+          }
+          this.value = Collections.unmodifiableList(new ArrayList<>((Collection<?>) value));
+          break;
+        default:
+          this.value = Objects.requireNonNull(value, "value");
+      }
+    }
+
+    public String getColumn() {
+      return column;
+    }
+
+    public Operator getOperator() {
+      return operator;
+    }
+
+    public Object getValue() {
+      return value;
+    }
+
+    private void appendSql(ReportDialect dialect, StringBuilder sql, List<Object> params) {
+      switch (operator) {
+        case IS_NULL:
+        case IS_NOT_NULL:
+          sql.append(dialect.quoteIdentifier(column)).append(' ').append(operator.sql);
+          break;
+        case IN: {
+          List<?> values = (List<?>) value;
+          if (values.isEmpty()) {
+            sql.append("1 = 0");
+          } else {
+            sql.append(dialect.quoteIdentifier(column)).append(" IN (");
+            for (int i = 0; i < values.size(); i++) {
+              sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+            params.addAll(values);
+          }
+          break;
+        }
+        default:
+          sql.append(dialect.quoteIdentifier(column)).append(' ').append(operator.sql).append(" ?");
+          params.add(value);
+      }
+    }
+  }
+
+  /**
+   * An aggregate of a column.
+   */
+  public static final class Aggregate {
+
+    private final Function function;
+    private final String column;
+    private final String alias;
+
+    /**
+     * Creates a new aggregate.
+     *
+     * @param  column  the column or {@code null} to {@link Function#COUNT} all rows
+     * @param  alias   the name of the resulting column
+     */
+    public Aggregate(Function function, String column, String alias) {
+      this.function = Objects.requireNonNull(function, "function");
+      if (column == null && function != Function.COUNT) {
+        throw new IllegalArgumentException(function + " requires a column");
+      }
+      this.column = column;
+      this.alias = Objects.requireNonNull(alias, "alias");
+    }
+
+    /**
+     * Creates a new aggregate, named by the function and column, such as {@code sum_amount}.
+     *
+     * @param  column  the column or {@code null} to {@link Function#COUNT} all rows
+     */
+    public Aggregate(Function function, String column) {
+      this(
+          function,
+          column,
+          function.name().toLowerCase(Locale.ROOT) + (column == null ? "" : ("_" + column))
+      );
+    }
+
+    public Function getFunction() {
+      return function;
+    }
+
+    public String getColumn() {
+      return column;
+    }
+
+    public String getAlias() {
+      return alias;
+    }
+
+    private void appendSql(ReportDialect dialect, StringBuilder sql) {
+      if (column == null) {
+        sql.append("COUNT(*)");
+      } else if (function == Function.COUNT_DISTINCT) {
+        sql.append("COUNT(DISTINCT ").append(dialect.quoteIdentifier(column)).append(')');
+      } else {
+        sql.append(function.name()).append('(').append(dialect.quoteIdentifier(column)).append(')');
+      }
+      sql.append(" AS ").append(dialect.quoteIdentifier(alias));
+    }
+  }
+
+  /**
+   * The ordering by a column.
+   */
+  public static final class Sort {
+
+    private final String column;
+    private final boolean descending;
+
+    /**
+     * Creates a new sort.
+     *
+     * @param  column  the column, or an aggregate alias when aggregating
+     */
+    public Sort(String column, boolean descending) {
+      this.column = Objects.requireNonNull(column, "column");
+      this.descending = descending;
+    }
+
+    public String getColumn() {
+      return column;
+    }
+
+    public boolean isDescending() {
+      return descending;
+    }
+  }
+
+  /**
+   * Builds a {@link ReportQuery}.
+   */
+  public static final class Builder {
+
+    private final List<Filter> filters = new ArrayList<>();
+    private final List<String> groupBy = new ArrayList<>();
+    private final List<Aggregate> aggregates = new ArrayList<>();
+    private final List<Sort> sorts = new ArrayList<>();
+    private int limit;
+
+    private Builder() {
+      // Created by ReportQuery.builder()
+    }
+
+    /**
+     * Adds a filter.  All filters must match.
+     */
+    public Builder filter(Filter filter) {
+      filters.add(Objects.requireNonNull(filter));
+      return this;
+    }
+
+    /**
+     * Adds a filter.  All filters must match.
+     *
+     * @see  Filter#Filter(java.lang.String, com.aoapps.dao.dbc.ReportQuery.Operator, java.lang.Object)
+     */
+    public Builder filter(String column, Operator operator, Object value) {
+      return filter(new Filter(column, operator, value));
+    }
+
+    /**
+     * Adds a column to group by.  When grouping, the results are the grouped columns followed by the aggregates.
+     */
+    public Builder groupBy(String column) {
+      groupBy.add(Objects.requireNonNull(column));
+      return this;
+    }
+
+    /**
+     * Adds an aggregate.
+     */
+    public Builder aggregate(Aggregate aggregate) {
+      aggregates.add(Objects.requireNonNull(aggregate));
+      return this;
+    }
+
+    /**
+     * Adds an aggregate, named by the function and column.
+     *
+     * @see  Aggregate#Aggregate(com.aoapps.dao.dbc.ReportQuery.Function, java.lang.String)
+     */
+    public Builder aggregate(Function function, String column) {
+      return aggregate(new Aggregate(function, column));
+    }
+
+    /**
+     * Adds a sort, after any sorts already added.
+     */
+    public Builder sort(String column, boolean descending) {
+      sorts.add(new Sort(column, descending));
+      return this;
+    }
+
+    /**
+     * Limits the number of rows.
+     *
+     * @param  limit  the maximum number of rows or {@code 0} for no limit
+     */
+    public Builder limit(int limit) {
+      if (limit < 0) {
+        throw new IllegalArgumentException("limit < 0: " + limit);
+      }
+      this.limit = limit;
+      return this;
+    }
+
+    public ReportQuery build() {
+      return new ReportQuery(this);
+    }
+  }
+
+  /**
+   * Creates a new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final List<Filter> filters;
+  private final List<String> groupBy;
+  private final List<Aggregate> aggregates;
+  private final List<Sort> sorts;
+  private final int limit;
+
+  private ReportQuery(Builder builder) {
+    this.filters = Collections.unmodifiableList(new ArrayList<>(builder.filters));
+    this.groupBy = Collections.unmodifiableList(new ArrayList<>(builder.groupBy));
+    this.aggregates = Collections.unmodifiableList(new ArrayList<>(builder.aggregates));
+    this.sorts = Collections.unmodifiableList(new ArrayList<>(builder.sorts));
+    this.limit = builder.limit;
+  }
+
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Filter> getFilters() {
+    return filters;
+  }
+
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<String> getGroupBy() {
+    return groupBy;
+  }
+
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Aggregate> getAggregates() {
+    return aggregates;
+  }
+
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Sort> getSorts() {
+    return sorts;
+  }
+
+  /**
+   * Gets the maximum number of rows.
+   *
+   * @return  the limit or {@code 0} for no limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Checks if the results have the same columns as the report.
+   */
+  boolean isAggregating() {
+    return !groupBy.isEmpty() || !aggregates.isEmpty();
+  }
+
+  /**
+   * Wraps the report query.
+   *
+   * @param  params  the parameters of the added SQL are appended here
+   */
+  String toSql(ReportDialect dialect, String sql, List<Object> params) {
+    StringBuilder selectList;
+    if (isAggregating()) {
+      selectList = dialect.appendIdentifiers(new StringBuilder(), groupBy);
+      for (Aggregate aggregate : aggregates) {
+        if (selectList.length() > 0) {
+          selectList.append(", ");
+        }
+        aggregate.appendSql(dialect, selectList);
+      }
+    } else {
+      selectList = new StringBuilder("*");
+    }
+    StringBuilder wrapped = ReportSql.wrap(sql, selectList.toString());
+    for (int i = 0, size = filters.size(); i < size; i++) {
+      wrapped.append(i == 0 ? "\nWHERE " : "\nAND ");
+      filters.get(i).appendSql(dialect, wrapped, params);
+    }
+    if (!groupBy.isEmpty()) {
+      dialect.appendIdentifiers(wrapped.append("\nGROUP BY "), groupBy);
+    }
+    for (int i = 0, size = sorts.size(); i < size; i++) {
+      Sort sort = sorts.get(i);
+      wrapped.append(i == 0 ? "\nORDER BY " : ", ").append(dialect.quoteIdentifier(sort.column));
+      if (sort.descending) {
+        wrapped.append(" DESC");
+      }
+    }
+    if (limit > 0) {
+      dialect.appendPaging(wrapped, params, 0, limit);
+    }
+    return wrapped.toString();
+  }
+}
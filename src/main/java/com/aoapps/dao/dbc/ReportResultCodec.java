@@ -0,0 +1,457 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dao.Report;
+import com.aoapps.dao.dbc.QueryReport.QueryColumn;
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A compact, versioned binary encoding of report results, for sharing results between servers.
+ *
+ * <p>The header is the magic bytes {@code AORR}, a version byte, and a compression byte, followed by the
+ * optionally deflated payload.  The payload is the columns, the number of rows, then the values stored
+ * column by column.  Each column uses the most compact encoding that exactly preserves its values:</p>
+ * <ul>
+ *   <li>{@link Integer} and {@link Long}: null bitmap and zig-zag variable-length integers</li>
+ *   <li>{@link Double}: null bitmap and fixed-width values</li>
+ *   <li>{@link String}: dictionary codes when the dictionary is small, otherwise length-prefixed values</li>
+ *   <li>all others: tagged values</li>
+ * </ul>
+ */
+final class ReportResultCodec {
+
+  private static final byte[] MAGIC = {'A', 'O', 'R', 'R'};
+
+  /**
+   * The current format version.
+   */
+  static final byte VERSION = 1;
+
+  private static final byte COMPRESSION_NONE = 0;
+  private static final byte COMPRESSION_DEFLATE = 1;
+
+  private static final byte ENCODING_INT = 0;
+  private static final byte ENCODING_LONG = 1;
+  private static final byte ENCODING_DOUBLE = 2;
+  private static final byte ENCODING_DICTIONARY = 3;
+  private static final byte ENCODING_STRING = 4;
+  private static final byte ENCODING_OBJECT = 5;
+
+  /**
+   * Text columns are stored directly once their dictionary would exceed this size.
+   */
+  private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  /** Make no instances. */
+  private ReportResultCodec() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes a result.  The stream is flushed, but not closed.
+   */
+  static void write(ReportResult result, OutputStream out, boolean compress) throws IOException {
+    out.write(MAGIC);
+    out.write(VERSION);
+    out.write(compress ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+    DeflaterOutputStream deflaterOut = null;
+    Deflater deflater = null;
+    OutputStream payloadOut;
+    if (compress) {
+      deflater = new Deflater(Deflater.BEST_SPEED);
+      deflaterOut = new DeflaterOutputStream(out, deflater, 1 << 16);
+      payloadOut = deflaterOut;
+    } else {
+      payloadOut = out;
+    }
+    try {
+      DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(payloadOut, 1 << 16));
+      writePayload(result, dataOut);
+      dataOut.flush();
+      if (deflaterOut != null) {
+        deflaterOut.finish();
+      }
+      out.flush();
+    } finally {
+      if (deflater != null) {
+        deflater.end();
+      }
+    }
+  }
+
+  private static void writePayload(ReportResult result, DataOutputStream out) throws IOException {
+    List<QueryColumn> columns = result.getColumns();
+    List<List<Object>> tableData = result.getTableData();
+    int numColumns = columns.size();
+    int numRows = tableData.size();
+    writeVarInt(out, numColumns);
+    for (QueryColumn column : columns) {
+      ValueCodec.writeString(out, column.getName());
+      ValueCodec.writeString(out, column.getAlignment().name());
+      writeVarInt(out, zigZag(column.getType()));
+    }
+    writeVarInt(out, numRows);
+    Object[] values = new Object[numRows];
+    for (int col = 0; col < numColumns; col++) {
+      for (int row = 0; row < numRows; row++) {
+        values[row] = tableData.get(row).get(col);
+      }
+      writeColumn(out, values);
+    }
+  }
+
+  private static void writeColumn(DataOutputStream out, Object[] values) throws IOException {
+    Class<?> valueClass = null;
+    boolean uniform = true;
+    for (Object value : values) {
+      if (value != null) {
+        if (valueClass == null) {
+          valueClass = value.getClass();
+        } else if (value.getClass() != valueClass) {
+          uniform = false;
+          break;
+        }
+      }
+    }
+    if (uniform && valueClass == Integer.class) {
+      out.writeByte(ENCODING_INT);
+      writeNulls(out, values);
+      for (Object value : values) {
+        if (value != null) {
+          writeVarInt(out, zigZag((Integer) value));
+        }
+      }
+    } else if (uniform && valueClass == Long.class) {
+      out.writeByte(ENCODING_LONG);
+      writeNulls(out, values);
+      for (Object value : values) {
+        if (value != null) {
+          writeVarLong(out, zigZag((Long) value));
+        }
+      }
+    } else if (uniform && valueClass == Double.class) {
+      out.writeByte(ENCODING_DOUBLE);
+      writeNulls(out, values);
+      for (Object value : values) {
+        if (value != null) {
+          out.writeDouble((Double) value);
+        }
+      }
+    } else if (uniform && valueClass == String.class) {
+      Map<String, Integer> codes = new HashMap<>();
+      List<String> dictionary = new ArrayList<>();
+      for (Object value : values) {
+        if (value != null && !codes.containsKey(value)) {
+          if (dictionary.size() == MAX_DICTIONARY_SIZE) {
+            dictionary = null;
+            break;
+          }
+          codes.put((String) value, dictionary.size());
+          dictionary.add((String) value);
+        }
+      }
+      if (dictionary != null) {
+        out.writeByte(ENCODING_DICTIONARY);
+        writeVarInt(out, dictionary.size());
+        for (String value : dictionary) {
+          ValueCodec.writeString(out, value);
+        }
+        for (Object value : values) {
+          // Zero is null
+          writeVarInt(out, value == null ? 0 : (codes.get(value) + 1));
+        }
+      } else {
+        out.writeByte(ENCODING_STRING);
+        writeNulls(out, values);
+        for (Object value : values) {
+          if (value != null) {
+            ValueCodec.writeString(out, (String) value);
+          }
+        }
+      }
+    } else {
+      out.writeByte(ENCODING_OBJECT);
+      for (Object value : values) {
+        ValueCodec.write(out, value);
+      }
+    }
+  }
+
+  private static void writeNulls(DataOutputStream out, Object[] values) throws IOException {
+    byte[] bitmap = new byte[(values.length + 7) >>> 3];
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+      }
+    }
+    out.write(bitmap);
+  }
+
+  /**
+   * Reads a result, creating its columns for the given report.
+   *
+   * @throws  InvalidObjectException  when not a supported result
+   */
+  static ReportResult read(QueryReport report, InputStream in) throws IOException {
+    byte[] header = new byte[MAGIC.length + 2];
+    if (in.readNBytes(header, 0, header.length) != header.length) {
+      throw new InvalidObjectException("Truncated header");
+    }
+    if (!Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+      throw new InvalidObjectException("Not a report result");
+    }
+    byte version = header[MAGIC.length];
+    if (version != VERSION) {
+      throw new InvalidObjectException("Unsupported version: " + version);
+    }
+    byte compression = header[MAGIC.length + 1];
+    byte[] payload;
+    switch (compression) {
+      case COMPRESSION_NONE:
+        payload = in.readAllBytes();
+        break;
+      case COMPRESSION_DEFLATE: {
+        // Not closed, since closing would also close the given stream
+        InflaterInputStream inflaterIn = new InflaterInputStream(in);
+        payload = inflaterIn.readAllBytes();
+        break;
+      }
+      default:
+        throw new InvalidObjectException("Unsupported compression: " + compression);
+    }
+    try {
+      return readPayload(report, ByteBuffer.wrap(payload));
+    } catch (BufferUnderflowException e) {
+      InvalidObjectException ioe = new InvalidObjectException("Truncated payload");
+      ioe.initCause(e);
+      throw ioe;
+    }
+  }
+
+  private static ReportResult readPayload(QueryReport report, ByteBuffer in) throws IOException {
+    // Each column and dictionary entry takes at least four bytes, and each row at least one bit per column,
+    // so corrupt counts are rejected before allocating for them
+    int numColumns = readCount(in, in.remaining() / 4);
+    List<QueryColumn> columns = new ArrayList<>(numColumns);
+    for (int col = 0; col < numColumns; col++) {
+      String name = ValueCodec.readString(in);
+      Report.Alignment alignment;
+      try {
+        alignment = Report.Alignment.valueOf(ValueCodec.readString(in));
+      } catch (IllegalArgumentException e) {
+        throw new InvalidObjectException(e.getMessage());
+      }
+      int type = unZigZag(readVarInt(in));
+      columns.add(new QueryColumn(report, name, alignment, type));
+    }
+    int numRows = readCount(in, (int) Math.min(Integer.MAX_VALUE, in.remaining() * 8L));
+    Object[][] rows = new Object[numRows][numColumns];
+    String[] columnClassNames = new String[numColumns];
+    for (int col = 0; col < numColumns; col++) {
+      columnClassNames[col] = readColumn(in, rows, col);
+    }
+    List<List<Object>> tableData;
+    if (report.isColumnar()) {
+      ColumnarTableData.Builder builder = new ColumnarTableData.Builder(Arrays.asList(columnClassNames));
+      for (int row = 0; row < numRows; row++) {
+        builder.addRow(Arrays.asList(rows[row]));
+        rows[row] = null;
+      }
+      tableData = builder.build();
+    } else {
+      List<List<Object>> list = new ArrayList<>(numRows);
+      for (Object[] row : rows) {
+        list.add(Collections.unmodifiableList(Arrays.asList(row)));
+      }
+      tableData = Collections.unmodifiableList(list);
+    }
+    return new ReportResult(Collections.unmodifiableList(columns), tableData);
+  }
+
+  /**
+   * Reads the values of a column.
+   *
+   * @return  the class name of the values, or {@code null} when they may be of any class
+   */
+  private static String readColumn(ByteBuffer in, Object[][] rows, int col) throws IOException {
+    int numRows = rows.length;
+    byte encoding = in.get();
+    switch (encoding) {
+      case ENCODING_INT: {
+        byte[] nulls = readNulls(in, numRows);
+        for (int row = 0; row < numRows; row++) {
+          if (!isNull(nulls, row)) {
+            rows[row][col] = unZigZag(readVarInt(in));
+          }
+        }
+        return Integer.class.getName();
+      }
+      case ENCODING_LONG: {
+        byte[] nulls = readNulls(in, numRows);
+        for (int row = 0; row < numRows; row++) {
+          if (!isNull(nulls, row)) {
+            rows[row][col] = unZigZag(readVarLong(in));
+          }
+        }
+        return Long.class.getName();
+      }
+      case ENCODING_DOUBLE: {
+        byte[] nulls = readNulls(in, numRows);
+        for (int row = 0; row < numRows; row++) {
+          if (!isNull(nulls, row)) {
+            rows[row][col] = in.getDouble();
+          }
+        }
+        return Double.class.getName();
+      }
+      case ENCODING_DICTIONARY: {
+        String[] dictionary = new String[readCount(in, in.remaining() / 4)];
+        for (int i = 0; i < dictionary.length; i++) {
+          dictionary[i] = ValueCodec.readString(in);
+        }
+        for (int row = 0; row < numRows; row++) {
+          int code = readVarInt(in);
+          if (code != 0) {
+            if (code > dictionary.length) {
+              throw new InvalidObjectException("Invalid dictionary code: " + code);
+            }
+            rows[row][col] = dictionary[code - 1];
+          }
+        }
+        return String.class.getName();
+      }
+      case ENCODING_STRING: {
+        byte[] nulls = readNulls(in, numRows);
+        for (int row = 0; row < numRows; row++) {
+          if (!isNull(nulls, row)) {
+            rows[row][col] = ValueCodec.readString(in);
+          }
+        }
+        return String.class.getName();
+      }
+      case ENCODING_OBJECT:
+        for (int row = 0; row < numRows; row++) {
+          rows[row][col] = ValueCodec.read(in);
+        }
+        return null;
+      default:
+        throw new InvalidObjectException("Unexpected encoding: " + encoding);
+    }
+  }
+
+  private static byte[] readNulls(ByteBuffer in, int numRows) {
+    byte[] bitmap = new byte[(numRows + 7) >>> 3];
+    in.get(bitmap);
+    return bitmap;
+  }
+
+  private static boolean isNull(byte[] nulls, int row) {
+    return (nulls[row >>> 3] & (1 << (row & 7))) != 0;
+  }
+
+  private static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7f) != 0) {
+      out.writeByte((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7fL) != 0) {
+      out.writeByte((int) (value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Reads a count, which may not be more than the given maximum.
+   */
+  private static int readCount(ByteBuffer in, int max) throws InvalidObjectException {
+    int count = readVarInt(in);
+    if (count < 0 || count > max) {
+      throw new InvalidObjectException("Invalid count: " + count);
+    }
+    return count;
+  }
+
+  private static int readVarInt(ByteBuffer in) throws InvalidObjectException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = in.get();
+      value |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new InvalidObjectException("Malformed variable-length integer");
+  }
+
+  private static long readVarLong(ByteBuffer in) throws InvalidObjectException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new InvalidObjectException("Malformed variable-length integer");
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.io.IOException;
+
+/**
+ * A store of encoded report results shared between servers, such as a shared directory or
+ * a distributed cache, used as a second level behind a {@link ReportCache}.
+ *
+ * <p>Implementations must be thread-safe.</p>
+ *
+ * @see  ReportCache#setStore(com.aoapps.dao.dbc.ReportResultStore)
+ * @see  FileReportResultStore
+ */
+public interface ReportResultStore {
+
+  /**
+   * Gets a stored result.
+   *
+   * @param  reportName  the name of the report
+   * @param  key         the key of the result, which is unique across all reports
+   *
+   * @return  the encoded result or {@code null} when not stored or expired
+   */
+  byte[] get(String reportName, String key) throws IOException;
+
+  /**
+   * Stores a result, replacing any existing result with the same key.
+   *
+   * @param  reportName  the name of the report
+   * @param  key         the key of the result, which is unique across all reports
+   * @param  result      the encoded result
+   * @param  timeToLive  the time-to-live, in milliseconds
+   */
+  void put(String reportName, String key, byte[] result, long timeToLive) throws IOException;
+
+  /**
+   * Removes all stored results for the given report.
+   */
+  void invalidate(String reportName) throws IOException;
+}
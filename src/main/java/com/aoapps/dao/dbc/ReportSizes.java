@@ -0,0 +1,122 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Rough estimates of the heap used by report values.  These are only approximations,
+ * intended for relative comparisons and limits, and do not account for sharing.
+ */
+final class ReportSizes {
+
+  /**
+   * The estimated size of an object header plus reference.
+   */
+  private static final int OBJECT_OVERHEAD = 16;
+
+  /** Make no instances. */
+  private ReportSizes() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Estimates the heap used by a single value, including any nested values.
+   */
+  static long estimateSize(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return OBJECT_OVERHEAD + 24 + ((String) value).length();
+    }
+    if (
+        value instanceof Integer
+            || value instanceof Short
+            || value instanceof Byte
+            || value instanceof Boolean
+            || value instanceof Float
+    ) {
+      return OBJECT_OVERHEAD;
+    }
+    if (value instanceof Long || value instanceof Double) {
+      return OBJECT_OVERHEAD + 8;
+    }
+    if (value instanceof BigDecimal) {
+      return OBJECT_OVERHEAD + 24 + (((BigDecimal) value).unscaledValue().bitLength() >> 3);
+    }
+    if (value instanceof BigInteger) {
+      return OBJECT_OVERHEAD + 24 + (((BigInteger) value).bitLength() >> 3);
+    }
+    if (value instanceof byte[]) {
+      return OBJECT_OVERHEAD + ((byte[]) value).length;
+    }
+    if (value instanceof ArrayLists.ArrayView) {
+      return OBJECT_OVERHEAD + ((ArrayLists.ArrayView) value).getEstimatedSize();
+    }
+    if (value instanceof ArrayLists.LazyList) {
+      // Must not read the deferred array
+      return OBJECT_OVERHEAD + ((ArrayLists.LazyList) value).getEstimatedSize();
+    }
+    if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      long estimate = OBJECT_OVERHEAD + 16 + 4L * list.size();
+      for (Object element : list) {
+        estimate += estimateSize(element);
+      }
+      return estimate;
+    }
+    return OBJECT_OVERHEAD + 16;
+  }
+
+  /**
+   * Estimates the heap used by a row stored as a list.
+   */
+  static long estimateRowSize(List<?> row) {
+    long estimate = OBJECT_OVERHEAD + 16 + 4L * row.size();
+    for (Object value : row) {
+      estimate += estimateSize(value);
+    }
+    return estimate;
+  }
+
+  /**
+   * Estimates the heap used by table data.
+   */
+  static long estimateTableSize(List<? extends List<?>> tableData) {
+    if (tableData instanceof ColumnarTableData) {
+      return ((ColumnarTableData) tableData).getEstimatedSize();
+    }
+    if (tableData instanceof SpillTableData) {
+      return ((SpillTableData) tableData).getEstimatedSize();
+    }
+    long estimate = OBJECT_OVERHEAD + 16 + 4L * tableData.size();
+    for (List<?> row : tableData) {
+      estimate += estimateRowSize(row);
+    }
+    return estimate;
+  }
+}
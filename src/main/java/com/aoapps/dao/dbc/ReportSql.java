@@ -0,0 +1,77 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+/**
+ * Rewrites the SQL of a report by wrapping it as a derived table, so the original query
+ * does not need to be parsed.
+ *
+ * @see  ReportDialect
+ */
+final class ReportSql {
+
+  /**
+   * The alias of the wrapped report query.
+   */
+  static final String ALIAS = "report_";
+
+  /** Make no instances. */
+  private ReportSql() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Starts a query that selects from the report query as a derived table.
+   * The report query is placed on its own lines so that a trailing line comment cannot
+   * swallow the remainder of the statement.  Any trailing semicolon is removed.
+   */
+  static StringBuilder wrap(String sql, String selectList) {
+    int end = sql.length();
+    while (end > 0) {
+      char ch = sql.charAt(end - 1);
+      if (ch == ';' || Character.isWhitespace(ch)) {
+        end--;
+      } else {
+        break;
+      }
+    }
+    return new StringBuilder(end + 64)
+        .append("SELECT ").append(selectList).append(" FROM (\n")
+        .append(sql, 0, end)
+        .append("\n) ").append(ALIAS);
+  }
+
+  /**
+   * Concatenates two parameter arrays.
+   */
+  static Object[] concat(Object[] params, Object... more) {
+    if (more.length == 0) {
+      return params;
+    }
+    Object[] all = new Object[params.length + more.length];
+    System.arraycopy(params, 0, all, 0, params.length);
+    System.arraycopy(more, 0, all, params.length, more.length);
+    return all;
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the executions of one report: counts, latency distributions of each phase, and rows read.
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  ReportMetrics#getStatistics(java.lang.String)
+ */
+public final class ReportStatistics implements ReportStatisticsMXBean {
+
+  /**
+   * The phases of an execution of a report.
+   */
+  public enum Phase {
+    /**
+     * {@link QueryReport#beforeQuery(java.util.Map, java.sql.Connection)}.
+     */
+    BEFORE_QUERY,
+    /**
+     * Preparing and executing the query.
+     */
+    EXECUTE,
+    /**
+     * Reading the rows, including any work done by the caller between rows.
+     */
+    FETCH,
+    /**
+     * {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)}.
+     */
+    AFTER_QUERY
+  }
+
+  private static final Phase[] phases = Phase.values();
+
+  private final String reportName;
+  private final LongAdder failureCount = new LongAdder();
+  private final LongAdder slowCount = new LongAdder();
+  private final LongAdder rowCount = new LongAdder();
+  private final LongAdder estimatedBytes = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LatencyHistogram[] phaseLatencies = new LatencyHistogram[phases.length];
+
+  ReportStatistics(String reportName) {
+    this.reportName = reportName;
+    for (int i = 0; i < phases.length; i++) {
+      phaseLatencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Records an execution.
+   *
+   * @param  phaseNanos  the time of each phase, by ordinal, or {@code -1} for phases not reached
+   */
+  void record(long nanos, long[] phaseNanos, long rows, long bytes, boolean failed, boolean slow) {
+    latency.record(nanos);
+    for (int i = 0; i < phases.length; i++) {
+      long phase = phaseNanos[i];
+      if (phase >= 0) {
+        phaseLatencies[i].record(phase);
+      }
+    }
+    rowCount.add(rows);
+    estimatedBytes.add(bytes);
+    if (failed) {
+      failureCount.increment();
+    }
+    if (slow) {
+      slowCount.increment();
+    }
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  @Override
+  public String getReportName() {
+    return reportName;
+  }
+
+  @Override
+  public long getExecutionCount() {
+    return latency.getCount();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  @Override
+  public long getSlowCount() {
+    return slowCount.sum();
+  }
+
+  @Override
+  public long getRowCount() {
+    return rowCount.sum();
+  }
+
+  @Override
+  public double getMeanRowCount() {
+    long n = latency.getCount();
+    return n == 0 ? 0 : (double) rowCount.sum() / n;
+  }
+
+  @Override
+  public long getEstimatedBytes() {
+    return estimatedBytes.sum();
+  }
+
+  @Override
+  public double getMean() {
+    return latency.getMean() / 1000;
+  }
+
+  @Override
+  public long get50thPercentile() {
+    return toMicros(latency.getPercentile(50));
+  }
+
+  @Override
+  public long get95thPercentile() {
+    return toMicros(latency.getPercentile(95));
+  }
+
+  @Override
+  public long get99thPercentile() {
+    return toMicros(latency.getPercentile(99));
+  }
+
+  @Override
+  public long getMax() {
+    return toMicros(latency.getMax());
+  }
+
+  @Override
+  public long getBeforeQuery50thPercentile() {
+    return toMicros(getPercentile(Phase.BEFORE_QUERY, 50));
+  }
+
+  @Override
+  public long getBeforeQuery95thPercentile() {
+    return toMicros(getPercentile(Phase.BEFORE_QUERY, 95));
+  }
+
+  @Override
+  public long getBeforeQuery99thPercentile() {
+    return toMicros(getPercentile(Phase.BEFORE_QUERY, 99));
+  }
+
+  @Override
+  public long getExecute50thPercentile() {
+    return toMicros(getPercentile(Phase.EXECUTE, 50));
+  }
+
+  @Override
+  public long getExecute95thPercentile() {
+    return toMicros(getPercentile(Phase.EXECUTE, 95));
+  }
+
+  @Override
+  public long getExecute99thPercentile() {
+    return toMicros(getPercentile(Phase.EXECUTE, 99));
+  }
+
+  @Override
+  public long getFetch50thPercentile() {
+    return toMicros(getPercentile(Phase.FETCH, 50));
+  }
+
+  @Override
+  public long getFetch95thPercentile() {
+    return toMicros(getPercentile(Phase.FETCH, 95));
+  }
+
+  @Override
+  public long getFetch99thPercentile() {
+    return toMicros(getPercentile(Phase.FETCH, 99));
+  }
+
+  @Override
+  public long getAfterQuery50thPercentile() {
+    return toMicros(getPercentile(Phase.AFTER_QUERY, 50));
+  }
+
+  @Override
+  public long getAfterQuery95thPercentile() {
+    return toMicros(getPercentile(Phase.AFTER_QUERY, 95));
+  }
+
+  @Override
+  public long getAfterQuery99thPercentile() {
+    return toMicros(getPercentile(Phase.AFTER_QUERY, 99));
+  }
+
+  /**
+   * Gets the latency, in nanoseconds, of executions at the given percentile.
+   *
+   * @param  percentile  the percentile, from 0 to 100
+   */
+  public long getPercentile(double percentile) {
+    return latency.getPercentile(percentile);
+  }
+
+  /**
+   * Gets the latency, in nanoseconds, of a phase at the given percentile.
+   *
+   * @param  percentile  the percentile, from 0 to 100
+   */
+  public long getPercentile(Phase phase, double percentile) {
+    return phaseLatencies[phase.ordinal()].getPercentile(percentile);
+  }
+}
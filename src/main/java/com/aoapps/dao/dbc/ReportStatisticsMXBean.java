@@ -0,0 +1,150 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+/**
+ * The JMX view of {@link ReportStatistics}.  All times are in microseconds.
+ */
+public interface ReportStatisticsMXBean {
+
+  /**
+   * Gets the name of the report.
+   */
+  String getReportName();
+
+  /**
+   * Gets the number of executions, including those that failed.
+   */
+  long getExecutionCount();
+
+  /**
+   * Gets the number of executions that failed.
+   */
+  long getFailureCount();
+
+  /**
+   * Gets the number of executions that took longer than the slow-report threshold.
+   */
+  long getSlowCount();
+
+  /**
+   * Gets the total number of rows read.
+   */
+  long getRowCount();
+
+  /**
+   * Gets the mean number of rows read per execution.
+   */
+  double getMeanRowCount();
+
+  /**
+   * Gets the total estimated size of the rows read, in bytes.
+   */
+  long getEstimatedBytes();
+
+  /**
+   * Gets the mean time of executions.
+   */
+  double getMean();
+
+  /**
+   * Gets the median time of executions.
+   */
+  long get50thPercentile();
+
+  /**
+   * Gets the 95th percentile time of executions.
+   */
+  long get95thPercentile();
+
+  /**
+   * Gets the 99th percentile time of executions.
+   */
+  long get99thPercentile();
+
+  /**
+   * Gets the maximum time of executions.
+   */
+  long getMax();
+
+  /**
+   * Gets the median time in {@link QueryReport#beforeQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getBeforeQuery50thPercentile();
+
+  /**
+   * Gets the 95th percentile time in {@link QueryReport#beforeQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getBeforeQuery95thPercentile();
+
+  /**
+   * Gets the 99th percentile time in {@link QueryReport#beforeQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getBeforeQuery99thPercentile();
+
+  /**
+   * Gets the median time to prepare and execute the query.
+   */
+  long getExecute50thPercentile();
+
+  /**
+   * Gets the 95th percentile time to prepare and execute the query.
+   */
+  long getExecute95thPercentile();
+
+  /**
+   * Gets the 99th percentile time to prepare and execute the query.
+   */
+  long getExecute99thPercentile();
+
+  /**
+   * Gets the median time reading rows.
+   */
+  long getFetch50thPercentile();
+
+  /**
+   * Gets the 95th percentile time reading rows.
+   */
+  long getFetch95thPercentile();
+
+  /**
+   * Gets the 99th percentile time reading rows.
+   */
+  long getFetch99thPercentile();
+
+  /**
+   * Gets the median time in {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getAfterQuery50thPercentile();
+
+  /**
+   * Gets the 95th percentile time in {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getAfterQuery95thPercentile();
+
+  /**
+   * Gets the 99th percentile time in {@link QueryReport#afterQuery(java.util.Map, java.sql.Connection)}.
+   */
+  long getAfterQuery99thPercentile();
+}
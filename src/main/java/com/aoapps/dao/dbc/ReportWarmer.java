@@ -0,0 +1,334 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes popular reports in the background, at startup and again before their cached results expire,
+ * so requests through the {@link ReportCache} are served from the cache instead of waiting for the report.
+ *
+ * <p>At most a fixed number of reports are refreshed at once.  When more are due, those requested most often
+ * since their last refresh go first.  Each refresh is rescheduled with random jitter, so reports added
+ * together do not stay in lockstep.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  ReportCache#refresh(com.aoapps.dao.dbc.QueryReport, java.util.Map)
+ */
+public class ReportWarmer {
+
+  private static final Logger logger = Logger.getLogger(ReportWarmer.class.getName());
+
+  /**
+   * The portion of the time-to-live after which a result is refreshed by default.
+   */
+  private static final double DEFAULT_REFRESH_FRACTION = 0.75;
+
+  /**
+   * The maximum jitter, as a portion of the refresh interval, added to or removed from each delay.
+   */
+  private static final double JITTER_FRACTION = 0.1;
+
+  private static class DefaultExecutorLazy {
+    private static final ExecutorService defaultExecutor = VirtualThreads.newExecutor(ReportWarmer.class.getName());
+  }
+
+  /**
+   * A report and its parameters kept warm.
+   */
+  private static final class Entry {
+
+    private final QueryReport report;
+    private final Map<String, ? extends Object> parameterValues;
+    private final long interval;
+    private final AtomicLong requestCount;
+    private long lastRequestCount;
+    /**
+     * The requests since the last refresh, set when due.
+     */
+    private long priority;
+    private ScheduledFuture<?> scheduled;
+    /**
+     * Incremented each time the entry is scheduled, so a scheduled task that could not be cancelled in time
+     * does nothing once the entry has been scheduled again.
+     */
+    private long generation;
+    private boolean refreshing;
+    private boolean removed;
+
+    private Entry(QueryReport report, Map<String, ? extends Object> parameterValues, long interval, AtomicLong requestCount) {
+      this.report = report;
+      this.parameterValues = parameterValues;
+      this.interval = interval;
+      this.requestCount = requestCount;
+    }
+  }
+
+  private final ReportCache cache;
+  private final Executor executor;
+  private final int maxConcurrency;
+  private final AtomicLong refreshCount = new AtomicLong();
+  private final AtomicLong failureCount = new AtomicLong();
+
+  private final List<Entry> entries = new ArrayList<>();
+  private final PriorityQueue<Entry> due = new PriorityQueue<>(
+      Comparator.comparingLong((Entry e) -> e.priority).reversed()
+  );
+  private int running;
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Creates a new warmer.
+   *
+   * @param  executor  the executor that runs the reports.  Tasks may block waiting for their database,
+   *                   so the executor should not be a small fixed-size pool.
+   * @param  maxConcurrency  the maximum number of reports refreshed at once
+   */
+  public ReportWarmer(ReportCache cache, Executor executor, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency < 1: " + maxConcurrency);
+    }
+    this.cache = cache;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Creates a new warmer using virtual threads when available, otherwise a cached pool of daemon threads.
+   *
+   * @param  maxConcurrency  the maximum number of reports refreshed at once
+   */
+  public ReportWarmer(ReportCache cache, int maxConcurrency) {
+    this(cache, DefaultExecutorLazy.defaultExecutor, maxConcurrency);
+  }
+
+  /**
+   * Gets the cache the results are stored in.
+   */
+  public ReportCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Keeps a report warm, refreshing it after three quarters of its
+   * {@linkplain QueryReport#getCacheTimeToLive() time-to-live}.
+   *
+   * @throws  IllegalArgumentException  when the report is not cached
+   *
+   * @see  #add(com.aoapps.dao.dbc.QueryReport, java.util.Map, long, java.util.concurrent.TimeUnit)
+   */
+  public void add(QueryReport report, Map<String, ? extends Object> parameterValues) {
+    long timeToLive = cache.getTimeToLive(report);
+    if (timeToLive == 0) {
+      throw new IllegalArgumentException("Report is not cached: " + report.getName());
+    }
+    add(report, parameterValues, Math.max(1, (long) (timeToLive * DEFAULT_REFRESH_FRACTION)), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Keeps a report warm, refreshing it at the given interval, give or take the jitter.
+   * When already {@linkplain #start(java.util.concurrent.ScheduledExecutorService) started}, the report is
+   * refreshed right away.
+   *
+   * @param  interval  the time between refreshes, which should be less than the time-to-live
+   */
+  public void add(QueryReport report, Map<String, ? extends Object> parameterValues, long interval, TimeUnit unit) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("interval <= 0: " + interval);
+    }
+    Entry entry = new Entry(report, parameterValues, unit.toNanos(interval), cache.track(report, parameterValues));
+    synchronized (this) {
+      entries.add(entry);
+      if (scheduler != null) {
+        schedule(entry, 0);
+      }
+    }
+  }
+
+  /**
+   * Stops keeping a report warm.  Any refresh in progress is completed.
+   *
+   * @return  {@code true} when the report and parameters were being kept warm
+   */
+  public synchronized boolean remove(QueryReport report, Map<String, ? extends Object> parameterValues) {
+    String name = report.getName();
+    for (int i = 0, size = entries.size(); i < size; i++) {
+      Entry entry = entries.get(i);
+      if (entry.report.getName().equals(name) && entry.parameterValues.equals(parameterValues)) {
+        entries.remove(i);
+        entry.removed = true;
+        due.remove(entry);
+        if (entry.scheduled != null) {
+          entry.scheduled.cancel(false);
+          entry.scheduled = null;
+        }
+        cache.untrack(report, parameterValues);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Refreshes all reports now, and then each again at its interval.
+   *
+   * @param  scheduler  schedules the refreshes, which are run on the executor of this warmer
+   *
+   * @throws  IllegalStateException  when already started
+   *
+   * @see  #stop()
+   */
+  public synchronized void start(ScheduledExecutorService scheduler) {
+    if (this.scheduler != null) {
+      throw new IllegalStateException("Already started");
+    }
+    this.scheduler = scheduler;
+    for (Entry entry : entries) {
+      // Those still refreshing since being stopped are rescheduled when done
+      if (!entry.refreshing) {
+        schedule(entry, 0);
+      }
+    }
+  }
+
+  /**
+   * Stops refreshing.  Any refreshes in progress are completed.
+   */
+  public synchronized void stop() {
+    scheduler = null;
+    due.clear();
+    for (Entry entry : entries) {
+      if (entry.scheduled != null) {
+        entry.scheduled.cancel(false);
+        entry.scheduled = null;
+      }
+    }
+  }
+
+  /**
+   * Schedules the next refresh of an entry.
+   */
+  private void schedule(Entry entry, long delay) {
+    assert Thread.holdsLock(this);
+    long generation = ++entry.generation;
+    entry.scheduled = scheduler.schedule(() -> enqueue(entry, generation), delay, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Gets the delay until the next refresh, with jitter.
+   */
+  private static long getDelay(Entry entry) {
+    long jitter = (long) (entry.interval * JITTER_FRACTION);
+    return entry.interval + (jitter == 0 ? 0 : ThreadLocalRandom.current().nextLong(-jitter, jitter + 1));
+  }
+
+  /**
+   * Adds a due entry, prioritized by the requests since its last refresh.
+   *
+   * @param  generation  the generation of the entry when scheduled.  When stopped and started again while this
+   *                     task was waiting, the entry has since been scheduled again, and this task does nothing.
+   */
+  private synchronized void enqueue(Entry entry, long generation) {
+    if (entry.generation != generation) {
+      return;
+    }
+    entry.scheduled = null;
+    if (scheduler != null && !entry.removed) {
+      long requests = entry.requestCount.get();
+      entry.priority = requests - entry.lastRequestCount;
+      entry.lastRequestCount = requests;
+      due.add(entry);
+      dispatch();
+    }
+  }
+
+  /**
+   * Starts refreshing due entries, up to the maximum concurrency.
+   */
+  private void dispatch() {
+    assert Thread.holdsLock(this);
+    Entry entry;
+    while (running < maxConcurrency && (entry = due.poll()) != null) {
+      running++;
+      entry.refreshing = true;
+      Entry refreshing = entry;
+      try {
+        executor.execute(() -> refresh(refreshing));
+      } catch (Error | RuntimeException e) {
+        running--;
+        refreshing.refreshing = false;
+        logger.log(Level.WARNING, "Unable to refresh report: " + refreshing.report.getName(), e);
+        schedule(refreshing, getDelay(refreshing));
+      }
+    }
+  }
+
+  private void refresh(Entry entry) {
+    try {
+      cache.refresh(entry.report, entry.parameterValues);
+      refreshCount.incrementAndGet();
+    } catch (RuntimeException | SQLException e) {
+      failureCount.incrementAndGet();
+      logger.log(Level.WARNING, "Unable to refresh report: " + entry.report.getName(), e);
+    } finally {
+      synchronized (this) {
+        running--;
+        entry.refreshing = false;
+        if (scheduler != null && !entry.removed) {
+          schedule(entry, getDelay(entry));
+        }
+        dispatch();
+      }
+    }
+  }
+
+  /**
+   * Gets the number of reports refreshed successfully.
+   */
+  public long getRefreshCount() {
+    return refreshCount.get();
+  }
+
+  /**
+   * Gets the number of reports that failed to refresh.  Failed reports are tried again at their next interval.
+   */
+  public long getFailureCount() {
+    return failureCount.get();
+  }
+}
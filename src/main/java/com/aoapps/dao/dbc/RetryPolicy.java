@@ -0,0 +1,246 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries outermost transactions that fail from contention, such as serialization failures and deadlocks,
+ * with exponential backoff and full jitter.  Nested transactions are never retried, since they are
+ * part of a transaction that has already failed.
+ *
+ * <p>A retried transaction is executed again from the start, so any effects outside of the database
+ * must be safe to repeat.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  DatabaseModel#setRetryPolicy(com.aoapps.dao.dbc.RetryPolicy)
+ */
+public final class RetryPolicy {
+
+  /**
+   * The SQL state of a serialization failure.
+   */
+  public static final String SERIALIZATION_FAILURE = "40001";
+
+  /**
+   * The SQL state of a deadlock detected by PostgreSQL.
+   */
+  public static final String DEADLOCK_DETECTED = "40P01";
+
+  /**
+   * The SQL states retried by default.
+   */
+  public static final Set<String> DEFAULT_SQL_STATES = Collections.unmodifiableSet(
+      new HashSet<>(Arrays.asList(SERIALIZATION_FAILURE, DEADLOCK_DETECTED))
+  );
+
+  private final int maxAttempts;
+  private final long initialBackoff;
+  private final long maxBackoff;
+  private final Set<String> sqlStates;
+
+  private final AtomicLong retryCount = new AtomicLong();
+  private final AtomicLong recoveredCount = new AtomicLong();
+  private final AtomicLong exhaustedCount = new AtomicLong();
+
+  /**
+   * Creates a new retry policy.
+   *
+   * @param  maxAttempts     the maximum number of attempts, including the first
+   * @param  initialBackoff  the maximum backoff, in milliseconds, before the first retry
+   * @param  maxBackoff      the limit, in milliseconds, on the maximum backoff as it doubles with each retry
+   * @param  sqlStates       the SQL states that are retried
+   */
+  public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff, Set<String> sqlStates) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts < 1: " + maxAttempts);
+    }
+    if (initialBackoff < 0) {
+      throw new IllegalArgumentException("initialBackoff < 0: " + initialBackoff);
+    }
+    if (maxBackoff < initialBackoff) {
+      throw new IllegalArgumentException("maxBackoff < initialBackoff: " + maxBackoff + " < " + initialBackoff);
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.sqlStates = Collections.unmodifiableSet(new HashSet<>(sqlStates));
+  }
+
+  /**
+   * Creates a new retry policy for {@linkplain #DEFAULT_SQL_STATES serialization failures and deadlocks}.
+   *
+   * @see  #RetryPolicy(int, long, long, java.util.Set)
+   */
+  public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff) {
+    this(maxAttempts, initialBackoff, maxBackoff, DEFAULT_SQL_STATES);
+  }
+
+  /**
+   * Gets the maximum number of attempts, including the first.
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Gets the maximum backoff, in milliseconds, before the first retry.
+   */
+  public long getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  /**
+   * Gets the limit, in milliseconds, on the maximum backoff.
+   */
+  public long getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  /**
+   * Gets the SQL states that are retried.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Set<String> getSqlStates() {
+    return sqlStates;
+  }
+
+  /**
+   * Checks if the given failure may succeed when retried.  The SQL states of the exception, its chained
+   * exceptions, and its causes are checked.  A {@link SQLTransactionRollbackException} without a SQL state
+   * is also retried.
+   */
+  public boolean isRetryable(SQLException e) {
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    Throwable t = e;
+    while (t != null && seen.add(t)) {
+      if (t instanceof SQLException) {
+        SQLException sqlEx = (SQLException) t;
+        String sqlState = sqlEx.getSQLState();
+        if (sqlState != null ? sqlStates.contains(sqlState) : (sqlEx instanceof SQLTransactionRollbackException)) {
+          return true;
+        }
+        SQLException next = sqlEx.getNextException();
+        if (next != null && isRetryable(next, seen)) {
+          return true;
+        }
+      }
+      t = t.getCause();
+    }
+    return false;
+  }
+
+  private boolean isRetryable(SQLException e, Set<Throwable> seen) {
+    for (SQLException next = e; next != null && seen.add(next); next = next.getNextException()) {
+      String sqlState = next.getSQLState();
+      if (sqlState != null && sqlStates.contains(sqlState)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets a random backoff before the given retry.
+   *
+   * @param  retry  the retry number, starting at 1
+   *
+   * @return  the backoff, in nanoseconds
+   */
+  long getBackoffNanos(int retry) {
+    long limit = initialBackoff;
+    for (int i = 1; i < retry && limit < maxBackoff; i++) {
+      // Doubling would overflow before reaching a very large maximum
+      limit = limit > (maxBackoff >> 1) ? maxBackoff : (limit << 1);
+    }
+    if (limit == 0) {
+      return 0;
+    }
+    long limitNanos = TimeUnit.MILLISECONDS.toNanos(limit);
+    // Up to and including the limit, unless the conversion saturated
+    return ThreadLocalRandom.current().nextLong(limitNanos == Long.MAX_VALUE ? limitNanos : (limitNanos + 1));
+  }
+
+  /**
+   * Records a retry.
+   */
+  void retried() {
+    retryCount.incrementAndGet();
+  }
+
+  /**
+   * Records a transaction that succeeded after being retried.
+   */
+  void recovered() {
+    recoveredCount.incrementAndGet();
+  }
+
+  /**
+   * Records a transaction that failed after all attempts.
+   */
+  void exhausted() {
+    exhaustedCount.incrementAndGet();
+  }
+
+  /**
+   * Gets the total number of retries.
+   */
+  public long getRetryCount() {
+    return retryCount.get();
+  }
+
+  /**
+   * Gets the number of transactions that succeeded after being retried.
+   */
+  public long getRecoveredCount() {
+    return recoveredCount.get();
+  }
+
+  /**
+   * Gets the number of transactions that still failed with a retryable failure after all attempts.
+   */
+  public long getExhaustedCount() {
+    return exhaustedCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return RetryPolicy.class.getSimpleName()
+        + "(maxAttempts=" + maxAttempts
+        + ", initialBackoff=" + initialBackoff
+        + ", maxBackoff=" + maxBackoff
+        + ", sqlStates=" + sqlStates
+        + ')';
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reads the rows of a cursor on another thread, a bounded number of batches ahead of the handler,
+ * so fetching from the database overlaps with handling the rows.
+ */
+final class RowPrefetcher {
+
+  /** Make no instances. */
+  private RowPrefetcher() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The rows being read ahead.
+   */
+  interface Rows {
+
+    /**
+     * Moves to the next row.
+     *
+     * @see  QueryReport.ReportCursor#next()
+     */
+    boolean next() throws SQLException;
+
+    /**
+     * Gets the current row.
+     *
+     * @see  QueryReport.ReportCursor#getRow()
+     */
+    List<Object> getRow() throws SQLException;
+
+    /**
+     * Cancels a call to {@link #next()} in progress on another thread, once the rows are no longer wanted.
+     *
+     * @see  QueryReport.ReportCursor#cancelQuery()
+     */
+    void cancel() throws SQLException;
+  }
+
+  /**
+   * Marks the end of the rows.
+   */
+  private static final Object END = new Object();
+
+  /**
+   * How often the producer is checked while waiting for it to stop.
+   */
+  private static final long STOP_POLL_MILLIS = 10;
+
+  /**
+   * Passes each row of the cursor to the handler, in order, on the calling thread.  The cursor is only
+   * used by the other thread until this method returns, after which the cursor may be closed.
+   *
+   * <p>When the handler fails, the query is cancelled instead of waiting for the row being fetched.</p>
+   *
+   * @param  batchSize   the number of rows in each batch
+   * @param  maxBatches  the maximum number of batches read ahead of the handler
+   */
+  static void forEach(
+      QueryReport.ReportCursor cursor,
+      int batchSize,
+      int maxBatches,
+      Executor executor,
+      QueryReport.RowHandler handler
+  ) throws SQLException {
+    forEach(
+        new Rows() {
+          @Override
+          public boolean next() throws SQLException {
+            return cursor.next();
+          }
+
+          @Override
+          public List<Object> getRow() throws SQLException {
+            return cursor.getRow();
+          }
+
+          @Override
+          public void cancel() throws SQLException {
+            cursor.cancelQuery();
+          }
+        },
+        batchSize,
+        maxBatches,
+        executor,
+        handler
+    );
+  }
+
+  /**
+   * Passes each row to the handler, in order, on the calling thread.
+   *
+   * @see  #forEach(com.aoapps.dao.dbc.QueryReport.ReportCursor, int, int, java.util.concurrent.Executor, com.aoapps.dao.dbc.QueryReport.RowHandler)
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  static void forEach(
+      Rows rows,
+      int batchSize,
+      int maxBatches,
+      Executor executor,
+      QueryReport.RowHandler handler
+  ) throws SQLException {
+    // Batches take at most maxBatches slots, leaving one for the end
+    Semaphore batchSlots = new Semaphore(maxBatches);
+    BlockingQueue<Object> queue = new ArrayBlockingQueue<>(maxBatches + 1);
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicBoolean stopped = new AtomicBoolean();
+    executor.execute(() -> {
+      Object end = END;
+      try {
+        List<List<Object>> batch = new ArrayList<>(batchSize);
+        while (!stopped.get() && rows.next()) {
+          batch.add(rows.getRow());
+          if (batch.size() == batchSize) {
+            batchSlots.acquire();
+            queue.put(batch);
+            batch = new ArrayList<>(batchSize);
+          }
+        }
+        if (!batch.isEmpty() && !stopped.get()) {
+          batchSlots.acquire();
+          queue.put(batch);
+        }
+      } catch (InterruptedException e) {
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+        end = e;
+      } catch (Throwable t) {
+        end = t;
+      } finally {
+        // Only blocks once stopped, until the queue is next cleared
+        try {
+          queue.put(end);
+        } catch (InterruptedException e) {
+          // Restore the interrupted status
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      }
+    });
+    boolean ended = false;
+    boolean interrupted = false;
+    try {
+      while (true) {
+        Object item;
+        try {
+          item = queue.take();
+        } catch (InterruptedException e) {
+          interrupted = true;
+          throw new SQLException(e);
+        }
+        if (item == END) {
+          ended = true;
+          break;
+        }
+        if (item instanceof Throwable) {
+          ended = true;
+          throw Futures.rethrow((Throwable) item);
+        }
+        batchSlots.release();
+        @SuppressWarnings("unchecked")
+        List<List<Object>> batch = (List<List<Object>>) item;
+        for (List<Object> row : batch) {
+          handler.handleRow(row);
+        }
+      }
+    } catch (Throwable t) {
+      if (!ended) {
+        // Stopping early: do not wait for the producer to finish fetching a row that is no longer wanted
+        try {
+          rows.cancel();
+        } catch (Throwable t2) {
+          t.addSuppressed(t2);
+        }
+      }
+      throw t;
+    } finally {
+      stopped.set(true);
+      // The producer acquires at most one more slot before seeing the stop
+      batchSlots.release(maxBatches);
+      // Clearing unblocks the producer until it sees the stop, and the cursor must not be closed before then
+      do {
+        queue.clear();
+        try {
+          if (done.await(STOP_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            break;
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      } while (true);
+      if (interrupted) {
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.SQLException;
+
+/**
+ * Pins the database in a {@code ScopedValue}.  Accessed through method handles so this
+ * project may still be compiled for, and run on, older Java versions.
+ */
+final class ScopedValueTransactionContext extends TransactionContext {
+
+  /**
+   * The first Java version where scoped values are no longer a preview feature.
+   */
+  private static final int MINIMUM_JAVA_VERSION = 25;
+
+  private static final MethodHandle newInstance;
+  private static final MethodHandle where;
+  private static final MethodHandle run;
+  private static final MethodHandle isBound;
+  private static final MethodHandle get;
+
+  static {
+    MethodHandle newInstanceHandle = null;
+    MethodHandle whereHandle = null;
+    MethodHandle runHandle = null;
+    MethodHandle isBoundHandle = null;
+    MethodHandle getHandle = null;
+    if (Runtime.version().feature() >= MINIMUM_JAVA_VERSION) {
+      try {
+        Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+        Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        newInstanceHandle = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+            .asType(MethodType.methodType(Object.class));
+        whereHandle = lookup.findStatic(scopedValueClass, "where", MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+            .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+        runHandle = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+            .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+        isBoundHandle = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+            .asType(MethodType.methodType(boolean.class, Object.class));
+        getHandle = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+            .asType(MethodType.methodType(Object.class, Object.class));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        newInstanceHandle = null;
+      }
+    }
+    if (newInstanceHandle == null) {
+      newInstance = null;
+      where = null;
+      run = null;
+      isBound = null;
+      get = null;
+    } else {
+      newInstance = newInstanceHandle;
+      where = whereHandle;
+      run = runHandle;
+      isBound = isBoundHandle;
+      get = getHandle;
+    }
+  }
+
+  static boolean isAvailable() {
+    return newInstance != null;
+  }
+
+  /**
+   * The {@code ScopedValue<Database>}.
+   */
+  private final Object scopedValue;
+
+  ScopedValueTransactionContext() throws UnsupportedOperationException {
+    if (newInstance == null) {
+      throw new UnsupportedOperationException("ScopedValue requires Java " + MINIMUM_JAVA_VERSION + " or newer");
+    }
+    try {
+      scopedValue = (Object) newInstance.invokeExact();
+    } catch (Error | RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UnsupportedOperationException(t);
+    }
+  }
+
+  @Override
+  public Database getDatabase() {
+    try {
+      return (boolean) isBound.invokeExact(scopedValue) ? (Database) (Object) get.invokeExact(scopedValue) : null;
+    } catch (Error | RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new AssertionError(t);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <V, Ex extends Throwable> V call(
+      Database database,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    Object[] result = new Object[1];
+    Throwable[] thrown = new Throwable[1];
+    Runnable op = () -> {
+      try {
+        result[0] = callable.call(database);
+      } catch (Throwable t) {
+        thrown[0] = t;
+      }
+    };
+    try {
+      Object carrier = (Object) where.invokeExact(scopedValue, (Object) database);
+      run.invokeExact(carrier, op);
+    } catch (Error | RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new AssertionError(t);
+    }
+    Throwable t = thrown[0];
+    if (t != null) {
+      if (t instanceof Error) {
+        throw (Error) t;
+      }
+      if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      }
+      if (t instanceof SQLException) {
+        throw (SQLException) t;
+      }
+      // Only other checked exception the callable may throw
+      throw (Ex) t;
+    }
+    return (V) result[0];
+  }
+}
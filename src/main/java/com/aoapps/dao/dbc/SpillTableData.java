@@ -0,0 +1,532 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Table data stored in a compact binary, memory-mapped temporary file, for results too large to keep on the heap.
+ * Each row is a null bitmap followed by the non-null values, with each column encoded according to the
+ * class of its values.  Only the offset of each row is kept on the heap, and rows are decoded as they are accessed.
+ *
+ * <p>The file is deleted once mapped, where supported by the operating system, and its space is released
+ * when the table data is garbage collected.</p>
+ *
+ * <p>Columns without a specific encoding are encoded by {@link ValueCodec}.  A row with a value it cannot
+ * encode, such as a driver-specific object, is not added, and the caller keeps the rows on the heap instead.</p>
+ *
+ * @see  QueryReport#getSpillThreshold()
+ */
+final class SpillTableData extends AbstractList<List<Object>> implements RandomAccess {
+
+  private static final Logger logger = Logger.getLogger(SpillTableData.class.getName());
+
+  /**
+   * The maximum size of each mapped segment.  Rows never span segments.
+   */
+  private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+  /**
+   * The encoding of a single column.
+   */
+  private abstract static class ColumnCodec {
+
+    /**
+     * Writes the non-null value of the current row of the result set.
+     *
+     * @return  {@code false} when the value is {@code null} and nothing was written
+     */
+    abstract boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex)
+        throws SQLException, IOException;
+
+    /**
+     * Writes a non-null value that has already been read.
+     */
+    abstract void write(DataOutputStream out, Object value) throws IOException;
+
+    /**
+     * Reads a non-null value.
+     */
+    abstract Object read(ByteBuffer in) throws IOException;
+
+    /**
+     * Gets the most compact encoding for values of the given class, which decodes to the same class.
+     *
+     * @param  className  the class name of the values, or {@code null} when unknown
+     *
+     * @see  java.sql.ResultSetMetaData#getColumnClassName(int)
+     */
+    static ColumnCodec getInstance(String className) {
+      if (Integer.class.getName().equals(className)) {
+        return IntCodec.INSTANCE;
+      } else if (Long.class.getName().equals(className)) {
+        return LongCodec.INSTANCE;
+      } else if (Double.class.getName().equals(className)) {
+        return DoubleCodec.INSTANCE;
+      } else if (String.class.getName().equals(className)) {
+        return StringCodec.INSTANCE;
+      } else {
+        return ObjectCodec.INSTANCE;
+      }
+    }
+  }
+
+  private static final class IntCodec extends ColumnCodec {
+
+    private static final IntCodec INSTANCE = new IntCodec();
+
+    @Override
+    boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex) throws SQLException, IOException {
+      ResultSet results = cursor.getResultSet();
+      int value;
+      try {
+        value = results.getInt(columnIndex);
+        if (results.wasNull()) {
+          return false;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+      out.writeInt(value);
+      return true;
+    }
+
+    @Override
+    void write(DataOutputStream out, Object value) throws IOException {
+      out.writeInt((Integer) value);
+    }
+
+    @Override
+    Object read(ByteBuffer in) {
+      return in.getInt();
+    }
+  }
+
+  private static final class LongCodec extends ColumnCodec {
+
+    private static final LongCodec INSTANCE = new LongCodec();
+
+    @Override
+    boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex) throws SQLException, IOException {
+      ResultSet results = cursor.getResultSet();
+      long value;
+      try {
+        value = results.getLong(columnIndex);
+        if (results.wasNull()) {
+          return false;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+      out.writeLong(value);
+      return true;
+    }
+
+    @Override
+    void write(DataOutputStream out, Object value) throws IOException {
+      out.writeLong((Long) value);
+    }
+
+    @Override
+    Object read(ByteBuffer in) {
+      return in.getLong();
+    }
+  }
+
+  private static final class DoubleCodec extends ColumnCodec {
+
+    private static final DoubleCodec INSTANCE = new DoubleCodec();
+
+    @Override
+    boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex) throws SQLException, IOException {
+      ResultSet results = cursor.getResultSet();
+      double value;
+      try {
+        value = results.getDouble(columnIndex);
+        if (results.wasNull()) {
+          return false;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+      out.writeDouble(value);
+      return true;
+    }
+
+    @Override
+    void write(DataOutputStream out, Object value) throws IOException {
+      out.writeDouble((Double) value);
+    }
+
+    @Override
+    Object read(ByteBuffer in) {
+      return in.getDouble();
+    }
+  }
+
+  private static final class StringCodec extends ColumnCodec {
+
+    private static final StringCodec INSTANCE = new StringCodec();
+
+    @Override
+    boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex) throws SQLException, IOException {
+      String value;
+      try {
+        value = cursor.getResultSet().getString(columnIndex);
+      } catch (Error | RuntimeException | SQLException e) {
+        cursor.readFailed(e);
+        throw e;
+      }
+      if (value == null) {
+        return false;
+      }
+      ValueCodec.writeString(out, value);
+      return true;
+    }
+
+    @Override
+    void write(DataOutputStream out, Object value) throws IOException {
+      ValueCodec.writeString(out, (String) value);
+    }
+
+    @Override
+    Object read(ByteBuffer in) {
+      return ValueCodec.readString(in);
+    }
+  }
+
+  private static final class ObjectCodec extends ColumnCodec {
+
+    private static final ObjectCodec INSTANCE = new ObjectCodec();
+
+    @Override
+    boolean write(DataOutputStream out, QueryReport.ReportCursor cursor, int columnIndex) throws SQLException, IOException {
+      Object value = cursor.getObject(columnIndex);
+      if (value == null) {
+        return false;
+      }
+      write(out, value);
+      return true;
+    }
+
+    @Override
+    void write(DataOutputStream out, Object value) throws IOException {
+      ValueCodec.write(out, value);
+    }
+
+    @Override
+    Object read(ByteBuffer in) throws IOException {
+      return ValueCodec.read(in);
+    }
+  }
+
+  /**
+   * Buffers a single row, exposing its bytes without copying.
+   */
+  private static final class RowBuffer extends ByteArrayOutputStream {
+
+    /**
+     * Writes the row, replacing its leading null bitmap.
+     */
+    private void writeTo(OutputStream out, byte[] bitmap) throws IOException {
+      System.arraycopy(bitmap, 0, buf, 0, bitmap.length);
+      out.write(buf, 0, count);
+    }
+  }
+
+  /**
+   * Writes rows to a temporary file.  Closing the builder without building deletes the file.
+   */
+  static final class Builder implements Closeable {
+
+    private final ColumnCodec[] codecs;
+    /**
+     * Whether any column is encoded by {@link ObjectCodec}, which may find a value it cannot encode.
+     */
+    private final boolean hasObjectColumns;
+    private final int bitmapSize;
+    private final Path file;
+    private final OutputStream fileOut;
+
+    /**
+     * Each row is encoded here before being written to the file, so its length is known.
+     */
+    private final RowBuffer rowBytes = new RowBuffer();
+    private final DataOutputStream rowOut = new DataOutputStream(rowBytes);
+    private final byte[] bitmap;
+
+    private long position;
+    private long segmentStart;
+    private final List<Long> segmentStarts = new ArrayList<>();
+    private final List<Integer> segmentFirstRows = new ArrayList<>();
+    private int[] offsets = new int[1024];
+    private int size;
+    private boolean built;
+
+    /**
+     * @param  columnClassNames  the class name of the values of each column
+     */
+    Builder(List<String> columnClassNames) throws IOException {
+      int numColumns = columnClassNames.size();
+      codecs = new ColumnCodec[numColumns];
+      boolean objectColumns = false;
+      for (int i = 0; i < numColumns; i++) {
+        ColumnCodec codec = ColumnCodec.getInstance(columnClassNames.get(i));
+        codecs[i] = codec;
+        if (codec == ObjectCodec.INSTANCE) {
+          objectColumns = true;
+        }
+      }
+      hasObjectColumns = objectColumns;
+      bitmapSize = (numColumns + 7) >>> 3;
+      bitmap = new byte[bitmapSize];
+      file = Files.createTempFile("ao-dao-dbc-report-", ".spill");
+      try {
+        fileOut = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+      } catch (Throwable t) {
+        Files.deleteIfExists(file);
+        throw t;
+      }
+      segmentStarts.add(0L);
+      segmentFirstRows.add(0);
+    }
+
+    /**
+     * Adds the current row of the cursor.  When any column has no specific encoding, the whole row is read
+     * first, so each column is still only read once when the row cannot be added.
+     *
+     * @return  {@code null} when added, or the values of the row when it has a value that cannot be encoded
+     *
+     * @see  ValueCodec#isEncodable(java.lang.Object)
+     */
+    List<Object> addRow(QueryReport.ReportCursor cursor) throws SQLException, IOException {
+      if (hasObjectColumns) {
+        List<Object> row = cursor.getRow();
+        return addRow(row) ? null : row;
+      }
+      rowBytes.reset();
+      Arrays.fill(bitmap, (byte) 0);
+      rowOut.write(bitmap);
+      for (int i = 0; i < codecs.length; i++) {
+        if (!codecs[i].write(rowOut, cursor, i + 1)) {
+          bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+        }
+      }
+      writeRow();
+      return null;
+    }
+
+    /**
+     * Adds a row of values that have already been read.
+     *
+     * @return  {@code false} when the row has a value that cannot be encoded, and nothing was added
+     *
+     * @see  ValueCodec#isEncodable(java.lang.Object)
+     */
+    boolean addRow(List<?> row) throws IOException {
+      if (hasObjectColumns) {
+        for (int i = 0; i < codecs.length; i++) {
+          if (codecs[i] == ObjectCodec.INSTANCE && !ValueCodec.isEncodable(row.get(i))) {
+            return false;
+          }
+        }
+      }
+      rowBytes.reset();
+      Arrays.fill(bitmap, (byte) 0);
+      rowOut.write(bitmap);
+      for (int i = 0; i < codecs.length; i++) {
+        Object value = row.get(i);
+        if (value == null) {
+          bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+        } else {
+          codecs[i].write(rowOut, value);
+        }
+      }
+      writeRow();
+      return true;
+    }
+
+    private void writeRow() throws IOException {
+      rowOut.flush();
+      int length = rowBytes.size();
+      if (length > MAX_SEGMENT_SIZE) {
+        throw new IOException("Row too large to spill: " + length + " bytes");
+      }
+      if (position + length - segmentStart > MAX_SEGMENT_SIZE) {
+        segmentStart = position;
+        segmentStarts.add(position);
+        segmentFirstRows.add(size);
+      }
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size << 1);
+      }
+      offsets[size++] = (int) (position - segmentStart);
+      // The null bitmap was written before the values were known
+      rowBytes.writeTo(fileOut, bitmap);
+      position += length;
+    }
+
+    /**
+     * Maps the file and builds the table data.  The builder must not be used after this call.
+     */
+    SpillTableData build() throws IOException {
+      fileOut.close();
+      int numSegments = segmentStarts.size();
+      ByteBuffer[] segments = new ByteBuffer[numSegments];
+      int[] firstRows = new int[numSegments];
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        for (int i = 0; i < numSegments; i++) {
+          long start = segmentStarts.get(i);
+          long end = (i + 1) < numSegments ? segmentStarts.get(i + 1) : position;
+          MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+          segments[i] = segment;
+          firstRows[i] = segmentFirstRows.get(i);
+        }
+      }
+      built = true;
+      delete();
+      return new SpillTableData(codecs, bitmapSize, segments, firstRows, Arrays.copyOf(offsets, size), position);
+    }
+
+    private void delete() {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // Some operating systems do not allow deleting a mapped file
+        logger.log(Level.FINE, "Unable to delete spill file, deleting on exit: " + file, e);
+        file.toFile().deleteOnExit();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!built) {
+        try {
+          fileOut.close();
+        } finally {
+          delete();
+        }
+      }
+    }
+  }
+
+  private final ColumnCodec[] codecs;
+  private final int bitmapSize;
+  private final ByteBuffer[] segments;
+  private final int[] segmentFirstRows;
+  private final int[] offsets;
+  private final long fileSize;
+
+  private SpillTableData(
+      ColumnCodec[] codecs,
+      int bitmapSize,
+      ByteBuffer[] segments,
+      int[] segmentFirstRows,
+      int[] offsets,
+      long fileSize
+  ) {
+    this.codecs = codecs;
+    this.bitmapSize = bitmapSize;
+    this.segments = segments;
+    this.segmentFirstRows = segmentFirstRows;
+    this.offsets = offsets;
+    this.fileSize = fileSize;
+  }
+
+  @Override
+  public int size() {
+    return offsets.length;
+  }
+
+  /**
+   * Decodes a row.
+   *
+   * @throws  UncheckedIOException  when the row cannot be decoded
+   */
+  @Override
+  public List<Object> get(int index) {
+    if (index < 0 || index >= offsets.length) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + offsets.length);
+    }
+    int segment = Arrays.binarySearch(segmentFirstRows, index);
+    if (segment < 0) {
+      segment = -segment - 2;
+    }
+    // Duplicate for an independent position, so rows may be read concurrently
+    ByteBuffer in = segments[segment].duplicate();
+    int offset = offsets[index];
+    in.position(offset + bitmapSize);
+    Object[] values = new Object[codecs.length];
+    try {
+      for (int i = 0; i < codecs.length; i++) {
+        boolean isNull = (segments[segment].get(offset + (i >>> 3)) & (1 << (i & 7))) != 0;
+        if (!isNull) {
+          values[i] = codecs[i].read(in);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  /**
+   * Estimates the number of bytes of heap used by this table data, which excludes the mapped file.
+   */
+  long getEstimatedSize() {
+    return 4L * offsets.length + 64L * segments.length;
+  }
+
+  /**
+   * Gets the size of the mapped file.
+   */
+  long getFileSize() {
+    return fileSize;
+  }
+}
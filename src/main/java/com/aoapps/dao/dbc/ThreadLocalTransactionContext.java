@@ -0,0 +1,62 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+
+/**
+ * Pins the database in a {@link ThreadLocal}.
+ */
+final class ThreadLocalTransactionContext extends TransactionContext {
+
+  private final ThreadLocal<Database> threadLocal;
+
+  ThreadLocalTransactionContext(ThreadLocal<Database> threadLocal) {
+    this.threadLocal = threadLocal;
+  }
+
+  @Override
+  public Database getDatabase() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public <V, Ex extends Throwable> V call(
+      Database database,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex {
+    Database previous = threadLocal.get();
+    threadLocal.set(database);
+    try {
+      return callable.call(database);
+    } finally {
+      if (previous == null) {
+        threadLocal.remove();
+      } else {
+        threadLocal.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+
+/**
+ * Pins the {@link Database} used by the outermost transaction of a {@link DatabaseModel}
+ * so that nested transactions are executed against the same database.
+ *
+ * <p>The {@linkplain #newThreadLocalInstance() thread-local strategy} works on all Java versions.
+ * The {@linkplain #newScopedValueInstance() scoped-value strategy} avoids per-thread maps on virtual threads
+ * and is inherited by subtasks forked in a {@code StructuredTaskScope}.</p>
+ *
+ * @see  DatabaseModel#DatabaseModel(com.aoapps.dao.dbc.TransactionContext)
+ */
+public abstract class TransactionContext {
+
+  /**
+   * A task executed with a pinned database.
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   */
+  @FunctionalInterface
+  public interface PinnedCallable<V, Ex extends Throwable> {
+
+    /**
+     * Performs the task.
+     *
+     * @param  database  the pinned database
+     */
+    V call(Database database) throws SQLException, Ex;
+  }
+
+  /**
+   * Creates a new context that pins the database in a {@link ThreadLocal}.
+   */
+  public static TransactionContext newThreadLocalInstance() {
+    return new ThreadLocalTransactionContext(new ThreadLocal<>());
+  }
+
+  /**
+   * Checks if scoped values are available.  They are final as of Java 25.
+   */
+  public static boolean isScopedValueAvailable() {
+    return ScopedValueTransactionContext.isAvailable();
+  }
+
+  /**
+   * Creates a new context that pins the database in a {@code ScopedValue}.
+   *
+   * @throws  UnsupportedOperationException  when scoped values are not available
+   *
+   * @see  #isScopedValueAvailable()
+   */
+  public static TransactionContext newScopedValueInstance() throws UnsupportedOperationException {
+    return new ScopedValueTransactionContext();
+  }
+
+  /**
+   * Creates a new context that pins the database in a {@code ScopedValue} when available,
+   * otherwise in a {@link ThreadLocal}.
+   */
+  public static TransactionContext newInstance() {
+    return isScopedValueAvailable() ? newScopedValueInstance() : newThreadLocalInstance();
+  }
+
+  /**
+   * Only the static factory methods may create instances.
+   */
+  TransactionContext() {
+    // Do nothing
+  }
+
+  /**
+   * Gets the database currently pinned for this thread or scope.
+   *
+   * @return  the pinned database or {@code null} when not in a transaction
+   */
+  public abstract Database getDatabase();
+
+  /**
+   * Pins the database for the duration of the task.
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   */
+  public abstract <V, Ex extends Throwable> V call(
+      Database database,
+      PinnedCallable<? extends V, ? extends Ex> callable
+  ) throws SQLException, Ex;
+}
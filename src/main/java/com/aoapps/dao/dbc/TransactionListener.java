@@ -0,0 +1,79 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+
+/**
+ * Observes the transactions executed by the {@code transactionCall} and {@code transactionRun} methods of a
+ * {@link DatabaseModel}, including read-only transactions.  Other tasks that only use the database of the model,
+ * such as report executions, are not observed.  Listeners are called on the thread executing the transaction,
+ * so must be fast and thread-safe.
+ *
+ * <p>All methods have empty default implementations.</p>
+ *
+ * @see  DatabaseModel#setTransactionListener(com.aoapps.dao.dbc.TransactionListener)
+ * @see  TransactionMetrics
+ */
+public interface TransactionListener {
+
+  /**
+   * Called when an outermost task is about to start, after its database has been selected.
+   *
+   * @param  readOnly  whether the database was selected for a read-only task
+   * @param  selectNanos  the time taken to select the database, in nanoseconds
+   */
+  default void outermostStarted(Database database, boolean readOnly, long selectNanos) {
+    // Do nothing
+  }
+
+  /**
+   * Called when an outermost task has completed.  A transaction is committed when completed
+   * without failure and rolled-back otherwise.
+   *
+   * @param  readOnly  whether the database was selected for a read-only task
+   * @param  nanos  the time taken by the task, in nanoseconds
+   * @param  failure  the failure or {@code null} when completed successfully
+   */
+  default void outermostCompleted(Database database, boolean readOnly, long nanos, Throwable failure) {
+    // Do nothing
+  }
+
+  /**
+   * Called when a nested task, reusing the pinned database, is about to start.
+   */
+  default void nestedStarted(Database database) {
+    // Do nothing
+  }
+
+  /**
+   * Called when a nested task has completed.
+   *
+   * @param  nanos  the time taken by the task, in nanoseconds
+   * @param  failure  the failure or {@code null} when completed successfully
+   */
+  default void nestedCompleted(Database database, long nanos, Throwable failure) {
+    // Do nothing
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import com.aoapps.dbc.Database;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Records latency distributions, nesting depth, commit and rollback counts, and in-flight tasks of a
+ * {@link DatabaseModel}.  May be exported via JMX with {@link #register(java.lang.String)}.
+ *
+ * <p>Nesting depth is tracked per thread, so nested tasks forked onto other threads are not counted
+ * toward the depth of their outermost task.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  DatabaseModel#setTransactionListener(com.aoapps.dao.dbc.TransactionListener)
+ */
+public class TransactionMetrics implements TransactionListener, TransactionMetricsMXBean {
+
+  /**
+   * The JMX domain used by {@link #register(java.lang.String)}.
+   */
+  public static final String JMX_DOMAIN = "com.aoapps.dao.dbc";
+
+  /**
+   * The current and maximum depth of the outermost task on this thread.
+   */
+  private static final class Depth {
+    private int current;
+    private int max;
+  }
+
+  private final ThreadLocal<Depth> depth = ThreadLocal.withInitial(Depth::new);
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder commitCount = new LongAdder();
+  private final LongAdder rollbackCount = new LongAdder();
+  private final LongAdder nestedCount = new LongAdder();
+  private final LongAdder totalDepth = new LongAdder();
+  private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+  private final LatencyHistogram selectLatency = new LatencyHistogram();
+  private final LatencyHistogram transactionLatency = new LatencyHistogram();
+
+  @Override
+  public void outermostStarted(Database database, boolean readOnly, long selectNanos) {
+    selectLatency.record(selectNanos);
+    inFlight.incrementAndGet();
+    Depth d = depth.get();
+    d.current = 0;
+    d.max = 0;
+  }
+
+  @Override
+  public void outermostCompleted(Database database, boolean readOnly, long nanos, Throwable failure) {
+    transactionLatency.record(nanos);
+    inFlight.decrementAndGet();
+    if (failure == null) {
+      commitCount.increment();
+    } else {
+      rollbackCount.increment();
+    }
+    int max = depth.get().max;
+    depth.remove();
+    totalDepth.add(max);
+    maxDepth.accumulate(max);
+  }
+
+  @Override
+  public void nestedStarted(Database database) {
+    nestedCount.increment();
+    Depth d = depth.get();
+    if (++d.current > d.max) {
+      d.max = d.current;
+    }
+  }
+
+  @Override
+  public void nestedCompleted(Database database, long nanos, Throwable failure) {
+    depth.get().current--;
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  @Override
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public long getCommitCount() {
+    return commitCount.sum();
+  }
+
+  @Override
+  public long getRollbackCount() {
+    return rollbackCount.sum();
+  }
+
+  @Override
+  public long getNestedCount() {
+    return nestedCount.sum();
+  }
+
+  @Override
+  public int getMaxDepth() {
+    return (int) maxDepth.get();
+  }
+
+  @Override
+  public double getMeanDepth() {
+    long n = transactionLatency.getCount();
+    return n == 0 ? 0 : (double) totalDepth.sum() / n;
+  }
+
+  @Override
+  public double getSelectMean() {
+    return selectLatency.getMean() / 1000;
+  }
+
+  @Override
+  public long getSelect99thPercentile() {
+    return toMicros(selectLatency.getPercentile(99));
+  }
+
+  @Override
+  public double getTransactionMean() {
+    return transactionLatency.getMean() / 1000;
+  }
+
+  @Override
+  public long getTransaction50thPercentile() {
+    return toMicros(transactionLatency.getPercentile(50));
+  }
+
+  @Override
+  public long getTransaction95thPercentile() {
+    return toMicros(transactionLatency.getPercentile(95));
+  }
+
+  @Override
+  public long getTransaction99thPercentile() {
+    return toMicros(transactionLatency.getPercentile(99));
+  }
+
+  @Override
+  public long getTransactionMax() {
+    return toMicros(transactionLatency.getMax());
+  }
+
+  /**
+   * Gets the latency, in nanoseconds, of outermost tasks at the given percentile.
+   *
+   * @param  percentile  the percentile, from 0 to 100
+   */
+  public long getTransactionPercentile(double percentile) {
+    return transactionLatency.getPercentile(percentile);
+  }
+
+  /**
+   * Registers these metrics with the platform MBean server, under the name
+   * <code>{@value #JMX_DOMAIN}:type=TransactionMetrics,name=<i>name</i></code>.
+   *
+   * @return  the name registered, which may be used to unregister
+   */
+  public ObjectName register(String name) throws JMException {
+    ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=TransactionMetrics,name=" + ObjectName.quote(name));
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    server.registerMBean(this, objectName);
+    return objectName;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+/**
+ * The JMX view of {@link TransactionMetrics}.  All times are in microseconds.
+ */
+public interface TransactionMetricsMXBean {
+
+  /**
+   * Gets the number of outermost tasks currently in progress.
+   */
+  int getInFlight();
+
+  /**
+   * Gets the number of outermost tasks that completed successfully, committing any transaction.
+   */
+  long getCommitCount();
+
+  /**
+   * Gets the number of outermost tasks that failed, rolling-back any transaction.
+   */
+  long getRollbackCount();
+
+  /**
+   * Gets the number of nested tasks that reused the pinned database.
+   */
+  long getNestedCount();
+
+  /**
+   * Gets the deepest nesting seen, where {@code 0} is an outermost task without any nested tasks.
+   */
+  int getMaxDepth();
+
+  /**
+   * Gets the mean nesting depth per outermost task.
+   */
+  double getMeanDepth();
+
+  /**
+   * Gets the mean time to select the database.
+   */
+  double getSelectMean();
+
+  /**
+   * Gets the 99th percentile time to select the database.
+   */
+  long getSelect99thPercentile();
+
+  /**
+   * Gets the mean time of outermost tasks.
+   */
+  double getTransactionMean();
+
+  /**
+   * Gets the median time of outermost tasks.
+   */
+  long getTransaction50thPercentile();
+
+  /**
+   * Gets the 95th percentile time of outermost tasks.
+   */
+  long getTransaction95thPercentile();
+
+  /**
+   * Gets the 99th percentile time of outermost tasks.
+   */
+  long getTransaction99thPercentile();
+
+  /**
+   * Gets the maximum time of outermost tasks.
+   */
+  long getTransactionMax();
+}
@@ -0,0 +1,302 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A compact, tagged binary encoding of report values.  Common JDBC types have their own encoding,
+ * lists are encoded recursively, and any other {@link Serializable} value from the {@code java.*}
+ * packages falls back to Java serialization.
+ */
+final class ValueCodec {
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte FLOAT = 5;
+  private static final byte SHORT = 6;
+  private static final byte BYTE = 7;
+  private static final byte BOOLEAN = 8;
+  private static final byte BIG_DECIMAL = 9;
+  private static final byte BIG_INTEGER = 10;
+  private static final byte BYTES = 11;
+  private static final byte TIMESTAMP = 12;
+  private static final byte DATE = 13;
+  private static final byte TIME = 14;
+  private static final byte LIST = 15;
+  private static final byte UUID_VALUE = 16;
+  private static final byte SERIALIZED = 17;
+
+  /**
+   * Only standard library classes are deserialized, so a tampered file cannot instantiate arbitrary classes.
+   */
+  private static final ObjectInputFilter SERIALIZED_FILTER = ObjectInputFilter.Config.createFilter(
+      "maxdepth=16;java.**;!*"
+  );
+
+  /** Make no instances. */
+  private ValueCodec() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Checks if a value has an encoding, including each element of a list.  Values of other packages,
+   * such as the driver-specific objects of some columns, have no encoding.
+   *
+   * @see  #write(java.io.DataOutput, java.lang.Object)
+   */
+  static boolean isEncodable(Object value) {
+    if (value instanceof List) {
+      for (Object element : (List<?>) value) {
+        if (!isEncodable(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return
+        value == null
+        || value instanceof byte[]
+        || (value instanceof Serializable && value.getClass().getName().startsWith("java."));
+  }
+
+  /**
+   * Writes a value, which may be {@code null}.
+   *
+   * @throws  NotSerializableException  when the value has no encoding
+   *
+   * @see  #isEncodable(java.lang.Object)
+   */
+  static void write(DataOutput out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof BigDecimal) {
+      BigDecimal decimal = (BigDecimal) value;
+      out.writeByte(BIG_DECIMAL);
+      out.writeInt(decimal.scale());
+      writeBytes(out, decimal.unscaledValue().toByteArray());
+    } else if (value instanceof BigInteger) {
+      out.writeByte(BIG_INTEGER);
+      writeBytes(out, ((BigInteger) value).toByteArray());
+    } else if (value instanceof byte[]) {
+      out.writeByte(BYTES);
+      writeBytes(out, (byte[]) value);
+    } else if (value instanceof Timestamp) {
+      Timestamp timestamp = (Timestamp) value;
+      out.writeByte(TIMESTAMP);
+      out.writeLong(timestamp.getTime());
+      out.writeInt(timestamp.getNanos());
+    } else if (value instanceof Date) {
+      out.writeByte(DATE);
+      out.writeLong(((Date) value).getTime());
+    } else if (value instanceof Time) {
+      out.writeByte(TIME);
+      out.writeLong(((Time) value).getTime());
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      int size = list.size();
+      out.writeByte(LIST);
+      out.writeInt(size);
+      for (int i = 0; i < size; i++) {
+        write(out, list.get(i));
+      }
+    } else if (value instanceof UUID) {
+      UUID uuid = (UUID) value;
+      out.writeByte(UUID_VALUE);
+      out.writeLong(uuid.getMostSignificantBits());
+      out.writeLong(uuid.getLeastSignificantBits());
+    } else if (value instanceof Serializable && value.getClass().getName().startsWith("java.")) {
+      ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      try (ObjectOutputStream oout = new ObjectOutputStream(bout)) {
+        oout.writeObject(value);
+      }
+      out.writeByte(SERIALIZED);
+      writeBytes(out, bout.toByteArray());
+    } else {
+      throw new NotSerializableException(value.getClass().getName());
+    }
+  }
+
+  /**
+   * Writes a string as its length in UTF-8 bytes followed by the bytes.
+   */
+  static void writeString(DataOutput out, String value) throws IOException {
+    writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a value written by {@link #write(java.io.DataOutput, java.lang.Object)}.
+   */
+  static Object read(ByteBuffer in) throws IOException {
+    byte tag = in.get();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case INTEGER:
+        return in.getInt();
+      case LONG:
+        return in.getLong();
+      case DOUBLE:
+        return in.getDouble();
+      case FLOAT:
+        return in.getFloat();
+      case SHORT:
+        return in.getShort();
+      case BYTE:
+        return in.get();
+      case BOOLEAN:
+        return in.get() != 0;
+      case BIG_DECIMAL: {
+        int scale = in.getInt();
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+      }
+      case BIG_INTEGER:
+        return new BigInteger(readBytes(in));
+      case BYTES:
+        return readBytes(in);
+      case TIMESTAMP: {
+        Timestamp timestamp = new Timestamp(in.getLong());
+        timestamp.setNanos(in.getInt());
+        return timestamp;
+      }
+      case DATE:
+        return new Date(in.getLong());
+      case TIME:
+        return new Time(in.getLong());
+      case LIST: {
+        int size = in.getInt();
+        if (size == 0) {
+          return Collections.emptyList();
+        }
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+          elements[i] = read(in);
+        }
+        return ArrayLists.asList(elements);
+      }
+      case UUID_VALUE:
+        return new UUID(in.getLong(), in.getLong());
+      case SERIALIZED:
+        try (ObjectInputStream oin = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+          oin.setObjectInputFilter(SERIALIZED_FILTER);
+          return oin.readObject();
+        } catch (ClassNotFoundException e) {
+          throw new IOException(e);
+        }
+      default:
+        throw new InvalidObjectException("Unexpected tag: " + tag);
+    }
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(java.io.DataOutput, java.lang.String)}.
+   */
+  static String readString(ByteBuffer in) {
+    int length = readLength(in);
+    String value;
+    if (in.hasArray()) {
+      int position = in.position();
+      value = new String(in.array(), in.arrayOffset() + position, length, StandardCharsets.UTF_8);
+      in.position(position + length);
+    } else {
+      byte[] bytes = new byte[length];
+      in.get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return value;
+  }
+
+  private static byte[] readBytes(ByteBuffer in) {
+    byte[] bytes = new byte[readLength(in)];
+    in.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Reads the length of a value, checking that the whole value remains before anything is allocated for it.
+   *
+   * @throws  BufferUnderflowException  when the value is truncated
+   */
+  private static int readLength(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0 || length > in.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return length;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors that run each task on its own virtual thread when available (Java 21+),
+ * falling back to a cached pool of daemon platform threads.
+ */
+final class VirtualThreads {
+
+  private static final Method newVirtualThreadPerTaskExecutor;
+
+  static {
+    Method method;
+    try {
+      method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      method = null;
+    }
+    newVirtualThreadPerTaskExecutor = method;
+  }
+
+  /** Make no instances. */
+  private VirtualThreads() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Checks if virtual threads are available.
+   */
+  static boolean isAvailable() {
+    return newVirtualThreadPerTaskExecutor != null;
+  }
+
+  /**
+   * Creates a new executor.
+   *
+   * @param  name  the prefix for the names of platform threads
+   */
+  static ExecutorService newExecutor(String name) {
+    if (newVirtualThreadPerTaskExecutor != null) {
+      try {
+        return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        // Fall-through to platform threads
+      }
+    }
+    AtomicInteger threadNum = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + threadNum.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return Executors.newCachedThreadPool(threadFactory);
+  }
+}
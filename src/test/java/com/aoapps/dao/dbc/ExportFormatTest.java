@@ -0,0 +1,152 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+
+import com.aoapps.dao.Report;
+import com.aoapps.dao.dbc.QueryReport.QueryColumn;
+import com.aoapps.dbc.Database;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the escaping of values by each {@link ExportFormat}.
+ */
+public class ExportFormatTest {
+
+  private static String csv(String value) throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.writeCsv(value, out);
+    return out.toString();
+  }
+
+  private static String tsv(String value) throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.writeTsv(value, out);
+    return out.toString();
+  }
+
+  private static String json(Object value) throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.writeJson(value, out);
+    return out.toString();
+  }
+
+  private static List<QueryColumn> columns(String... names) {
+    QueryReport report = new QueryReport((Database) null, "test", "SELECT 1") {
+      @Override
+      public String getTitle() {
+        return "Test";
+      }
+
+      @Override
+      public String getDescription() {
+        return "Test";
+      }
+    };
+    QueryColumn[] columns = new QueryColumn[names.length];
+    for (int i = 0; i < names.length; i++) {
+      columns[i] = new QueryColumn(report, names[i], Report.Alignment.left, Types.VARCHAR);
+    }
+    return Arrays.asList(columns);
+  }
+
+  @Test
+  public void testCsvPlain() throws IOException {
+    assertEquals("plain value", csv("plain value"));
+    assertEquals("", csv(""));
+  }
+
+  @Test
+  public void testCsvQuoted() throws IOException {
+    assertEquals("\"a,b\"", csv("a,b"));
+    assertEquals("\"line\r\nbreak\"", csv("line\r\nbreak"));
+    assertEquals("\"line\nbreak\"", csv("line\nbreak"));
+  }
+
+  @Test
+  public void testCsvDoubledQuotes() throws IOException {
+    assertEquals("\"say \"\"hi\"\"\"", csv("say \"hi\""));
+    assertEquals("\"\"\"\"", csv("\""));
+  }
+
+  @Test
+  public void testCsvHeader() throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.CSV.writeHeader(columns("id", "name, full"), out);
+    assertEquals("id,\"name, full\"\r\n", out.toString());
+  }
+
+  @Test
+  public void testTsvEscapes() throws IOException {
+    assertEquals("plain", tsv("plain"));
+    assertEquals("a\\tb\\nc\\rd\\\\e", tsv("a\tb\nc\rd\\e"));
+    assertEquals("\\t", tsv("\t"));
+  }
+
+  @Test
+  public void testTsvHeader() throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.TSV.writeHeader(columns("id", "tab\there"), out);
+    assertEquals("id\ttab\\there\n", out.toString());
+  }
+
+  @Test
+  public void testJsonStringEscapes() throws IOException {
+    assertEquals("\"plain\"", json("plain"));
+    assertEquals("\"q\\\"b\\\\\"", json("q\"b\\"));
+    assertEquals("\"\\b\\f\\n\\r\\t\"", json("\b\f\n\r\t"));
+    assertEquals("\"\\u0000\\u001f\"", json("\u0000\u001f"));
+    // Not a control character
+    assertEquals("\"\u007f\"", json("\u007f"));
+  }
+
+  @Test
+  public void testJsonLiterals() throws IOException {
+    assertEquals("null", json(null));
+    assertEquals("true", json(true));
+    assertEquals("42", json(42));
+    assertEquals("1.50", json(new BigDecimal("1.50")));
+    assertEquals("[1,null,\"x\"]", json(Arrays.asList(1, null, "x")));
+  }
+
+  @Test
+  public void testJsonNonFiniteAsStrings() throws IOException {
+    assertEquals("\"NaN\"", json(Double.NaN));
+    assertEquals("\"Infinity\"", json(Double.POSITIVE_INFINITY));
+    assertEquals("\"-Infinity\"", json(Float.NEGATIVE_INFINITY));
+  }
+
+  @Test
+  public void testJsonLinesNoHeader() throws IOException {
+    StringWriter out = new StringWriter();
+    ExportFormat.JSON_LINES.writeHeader(columns("id"), out);
+    assertEquals("", out.toString());
+  }
+}
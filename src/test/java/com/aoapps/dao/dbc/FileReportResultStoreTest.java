@@ -0,0 +1,131 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link FileReportResultStore}.
+ */
+public class FileReportResultStoreTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static final long HOUR = 60L * 60 * 1000;
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static long countFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  public void testPutGet() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key", bytes("result"), HOUR);
+    assertArrayEquals(bytes("result"), store.get("report", "key"));
+  }
+
+  @Test
+  public void testMissing() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    assertNull(store.get("report", "key"));
+  }
+
+  @Test
+  public void testReplace() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key", bytes("first"), HOUR);
+    store.put("report", "key", bytes("second"), HOUR);
+    assertArrayEquals(bytes("second"), store.get("report", "key"));
+    assertEquals(1, countFiles(store.getDirectory()));
+  }
+
+  @Test
+  public void testExpired() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key", bytes("result"), 0);
+    assertNull(store.get("report", "key"));
+    // Removed as it was read
+    assertEquals(0, countFiles(store.getDirectory()));
+  }
+
+  @Test
+  public void testPurgeExpired() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "expired1", bytes("result1"), 0);
+    store.put("other", "expired2", bytes("result2"), 0);
+    store.put("report", "current", bytes("current"), HOUR);
+    assertEquals(2, store.purgeExpired());
+    assertEquals(1, countFiles(store.getDirectory()));
+    assertArrayEquals(bytes("current"), store.get("report", "current"));
+  }
+
+  @Test
+  public void testNeverExpires() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key", bytes("result"), Long.MAX_VALUE);
+    assertArrayEquals(bytes("result"), store.get("report", "key"));
+  }
+
+  @Test
+  public void testInvalidate() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key1", bytes("result1"), HOUR);
+    store.put("report", "key2", bytes("result2"), HOUR);
+    store.put("other", "key1", bytes("other1"), HOUR);
+    store.invalidate("report");
+    assertNull(store.get("report", "key1"));
+    assertNull(store.get("report", "key2"));
+    assertArrayEquals(bytes("other1"), store.get("other", "key1"));
+  }
+
+  @Test
+  public void testTruncatedFile() throws IOException {
+    FileReportResultStore store = new FileReportResultStore(folder.getRoot().toPath());
+    store.put("report", "key", bytes("result"), HOUR);
+    try (Stream<Path> files = Files.list(store.getDirectory())) {
+      Path file = files.findFirst().get();
+      // Shorter than the expiration time
+      Files.write(file, new byte[3]);
+    }
+    assertNull(store.get("report", "key"));
+  }
+}
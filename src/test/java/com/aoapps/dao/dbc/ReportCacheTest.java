@@ -0,0 +1,263 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+import com.aoapps.dbc.Database;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.junit.Test;
+
+/**
+ * Tests the eviction, expiration, and coalescing of {@link ReportCache}.
+ */
+public class ReportCacheTest {
+
+  private static final long HOUR = 60L * 60 * 1000;
+
+  private static final Map<String, Object> NO_PARAMETERS = Collections.emptyMap();
+
+  /**
+   * A report that counts its executions, and may wait before returning its result, without a database.
+   */
+  private static class TestReport extends QueryReport {
+
+    private final long timeToLive;
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile CountDownLatch release;
+
+    private TestReport(String name, long timeToLive) {
+      super((Database) null, name, "SELECT 1");
+      this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String getTitle() {
+      return getName();
+    }
+
+    @Override
+    public String getDescription() {
+      return getName();
+    }
+
+    @Override
+    boolean isInTransaction() {
+      return false;
+    }
+
+    @Override
+    public long getCacheTimeToLive() {
+      return timeToLive;
+    }
+
+    @Override
+    public ReportResult executeReport(Map<String, ? extends Object> parameterValues) throws SQLException {
+      executions.incrementAndGet();
+      CountDownLatch wait = release;
+      if (wait != null) {
+        try {
+          if (!wait.await(10, TimeUnit.SECONDS)) {
+            throw new SQLException("Not released");
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new SQLException(e);
+        }
+      }
+      return newResult();
+    }
+  }
+
+  private static ReportResult newResult() {
+    List<List<Object>> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      rows.add(Arrays.asList(i, "row " + i));
+    }
+    return new ReportResult(Collections.emptyList(), Collections.unmodifiableList(rows));
+  }
+
+  private static final long RESULT_SIZE = newResult().getEstimatedSize();
+
+  /**
+   * Waits for a count to be reached by other threads.
+   */
+  private static void awaitCount(LongSupplier counter, long count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (counter.getAsLong() < count) {
+      assertTrue(System.nanoTime() - deadline < 0);
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  public void testHit() throws SQLException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", -1);
+    ReportResult result = cache.executeReport(report, NO_PARAMETERS);
+    assertSame(result, cache.executeReport(report, NO_PARAMETERS));
+    assertEquals(1, report.executions.get());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(RESULT_SIZE, cache.getSize());
+  }
+
+  /**
+   * The least-recently used result is evicted, not the least-recently added.
+   */
+  @Test
+  public void testLruEviction() throws SQLException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 2 + RESULT_SIZE / 2, HOUR);
+    TestReport a = new TestReport("a", -1);
+    TestReport b = new TestReport("b", -1);
+    TestReport c = new TestReport("c", -1);
+    cache.executeReport(a, NO_PARAMETERS);
+    cache.executeReport(b, NO_PARAMETERS);
+    // Uses a, so b is the least-recently used
+    cache.executeReport(a, NO_PARAMETERS);
+    cache.executeReport(c, NO_PARAMETERS);
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(2, cache.getEntryCount());
+    assertEquals(RESULT_SIZE * 2, cache.getSize());
+    cache.executeReport(a, NO_PARAMETERS);
+    cache.executeReport(c, NO_PARAMETERS);
+    assertEquals(1, a.executions.get());
+    assertEquals(1, c.executions.get());
+    cache.executeReport(b, NO_PARAMETERS);
+    assertEquals(2, b.executions.get());
+  }
+
+  @Test
+  public void testTooLargeNotCached() throws SQLException {
+    ReportCache cache = new ReportCache(RESULT_SIZE - 1, HOUR);
+    TestReport report = new TestReport("a", -1);
+    cache.executeReport(report, NO_PARAMETERS);
+    cache.executeReport(report, NO_PARAMETERS);
+    assertEquals(2, report.executions.get());
+    assertEquals(0, cache.getEntryCount());
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testExpiration() throws SQLException, InterruptedException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", 1);
+    cache.executeReport(report, NO_PARAMETERS);
+    Thread.sleep(20);
+    cache.executeReport(report, NO_PARAMETERS);
+    assertEquals(2, report.executions.get());
+    assertEquals(1, cache.getExpirationCount());
+    assertEquals(RESULT_SIZE, cache.getSize());
+  }
+
+  @Test
+  public void testZeroTimeToLiveNotCached() throws SQLException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", 0);
+    cache.executeReport(report, NO_PARAMETERS);
+    cache.executeReport(report, NO_PARAMETERS);
+    assertEquals(2, report.executions.get());
+    assertEquals(0, cache.getEntryCount());
+  }
+
+  @Test
+  public void testRefreshReplaces() throws SQLException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", -1);
+    ReportResult first = cache.executeReport(report, NO_PARAMETERS);
+    ReportResult refreshed = cache.refresh(report, NO_PARAMETERS);
+    assertNotSame(first, refreshed);
+    assertSame(refreshed, cache.executeReport(report, NO_PARAMETERS));
+    assertEquals(1, cache.getRefreshCount());
+  }
+
+  /**
+   * Concurrent identical requests share the result of a single execution.
+   */
+  @Test
+  public void testSingleFlight() throws InterruptedException, ExecutionException {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", -1);
+    report.release = new CountDownLatch(1);
+    int numThreads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<ReportResult>> futures = new ArrayList<>(numThreads);
+      for (int i = 0; i < numThreads; i++) {
+        futures.add(executor.submit(() -> cache.executeReport(report, NO_PARAMETERS)));
+      }
+      awaitCount(cache::getCoalescedCount, numThreads - 1L);
+      report.release.countDown();
+      ReportResult result = futures.get(0).get();
+      for (Future<ReportResult> future : futures) {
+        assertSame(result, future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, report.executions.get());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(numThreads - 1L, cache.getCoalescedCount());
+  }
+
+  /**
+   * A load already running when its report is invalidated does not cache its result.
+   */
+  @Test
+  public void testInvalidateDuringLoad() throws Exception {
+    ReportCache cache = new ReportCache(RESULT_SIZE * 10, HOUR);
+    TestReport report = new TestReport("a", -1);
+    report.release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<ReportResult> loading = executor.submit(() -> cache.executeReport(report, NO_PARAMETERS));
+      awaitCount(report.executions::get, 1);
+      cache.invalidate(report.getName());
+      report.release.countDown();
+      loading.get();
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(0, cache.getEntryCount());
+    report.release = null;
+    cache.executeReport(report, NO_PARAMETERS);
+    assertEquals(2, report.executions.get());
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.aoapps.dao.dbc.ReportQuery.Function;
+import com.aoapps.dao.dbc.ReportQuery.Operator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the SQL generated by {@link ReportQuery}.
+ */
+public class ReportQueryTest {
+
+  private static final String REPORT_SQL = "SELECT * FROM orders WHERE region = ?";
+
+  private static final String WRAPPED = "FROM (\n" + REPORT_SQL + "\n) report_";
+
+  @Test
+  public void testEmpty() {
+    ReportQuery query = ReportQuery.builder().build();
+    List<Object> params = new ArrayList<>();
+    assertEquals("SELECT * " + WRAPPED, query.toSql(ReportDialect.ANSI, REPORT_SQL, params));
+    assertEquals(Collections.emptyList(), params);
+    assertFalse(query.isAggregating());
+  }
+
+  @Test
+  public void testFilters() {
+    ReportQuery query = ReportQuery.builder()
+        .filter("status", Operator.EQUAL, "open")
+        .filter("total", Operator.GREATER_THAN_OR_EQUAL, 100)
+        .filter("closed", Operator.IS_NULL, null)
+        .filter("owner", Operator.IN, Arrays.asList("a", "b"))
+        .build();
+    List<Object> params = new ArrayList<>();
+    assertEquals(
+        "SELECT * " + WRAPPED
+            + "\nWHERE \"status\" = ?"
+            + "\nAND \"total\" >= ?"
+            + "\nAND \"closed\" IS NULL"
+            + "\nAND \"owner\" IN (?, ?)",
+        query.toSql(ReportDialect.ANSI, REPORT_SQL, params)
+    );
+    assertEquals(Arrays.asList("open", 100, "a", "b"), params);
+  }
+
+  @Test
+  public void testEmptyIn() {
+    ReportQuery query = ReportQuery.builder().filter("owner", Operator.IN, Collections.emptyList()).build();
+    List<Object> params = new ArrayList<>();
+    assertEquals("SELECT * " + WRAPPED + "\nWHERE 1 = 0", query.toSql(ReportDialect.ANSI, REPORT_SQL, params));
+    assertEquals(Collections.emptyList(), params);
+  }
+
+  @Test
+  public void testInvalidFilters() {
+    assertThrows(IllegalArgumentException.class, () -> new ReportQuery.Filter("a", Operator.IS_NULL, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ReportQuery.Filter("a", Operator.IN, "a"));
+    assertThrows(NullPointerException.class, () -> new ReportQuery.Filter("a", Operator.EQUAL, null));
+  }
+
+  @Test
+  public void testGroupAndAggregates() {
+    ReportQuery query = ReportQuery.builder()
+        .groupBy("region")
+        .aggregate(Function.COUNT, null)
+        .aggregate(Function.SUM, "total")
+        .aggregate(Function.COUNT_DISTINCT, "owner")
+        .sort("sum_total", true)
+        .build();
+    assertTrue(query.isAggregating());
+    List<Object> params = new ArrayList<>();
+    assertEquals(
+        "SELECT \"region\", COUNT(*) AS \"count\", SUM(\"total\") AS \"sum_total\","
+            + " COUNT(DISTINCT \"owner\") AS \"count_distinct_owner\" " + WRAPPED
+            + "\nGROUP BY \"region\""
+            + "\nORDER BY \"sum_total\" DESC",
+        query.toSql(ReportDialect.ANSI, REPORT_SQL, params)
+    );
+    assertEquals(Collections.emptyList(), params);
+  }
+
+  /**
+   * The parameters of the filters come before the limit, in the order of the SQL.
+   */
+  @Test
+  public void testSortAndLimit() {
+    ReportQuery query = ReportQuery.builder()
+        .filter("status", Operator.NOT_EQUAL, "void")
+        .sort("created", true)
+        .sort("id", false)
+        .limit(50)
+        .build();
+    List<Object> params = new ArrayList<>();
+    assertEquals(
+        "SELECT * " + WRAPPED
+            + "\nWHERE \"status\" <> ?"
+            + "\nORDER BY \"created\" DESC, \"id\""
+            + "\nOFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+        query.toSql(ReportDialect.ANSI, REPORT_SQL, params)
+    );
+    assertEquals(Arrays.asList("void", 0, 50), params);
+  }
+
+  @Test
+  public void testMysql() {
+    ReportQuery query = ReportQuery.builder()
+        .filter("status", Operator.LIKE, "o%")
+        .sort("id", false)
+        .limit(10)
+        .build();
+    List<Object> params = new ArrayList<>();
+    assertEquals(
+        "SELECT * " + WRAPPED
+            + "\nWHERE `status` LIKE ?"
+            + "\nORDER BY `id`"
+            + "\nLIMIT ? OFFSET ?",
+        query.toSql(ReportDialect.MYSQL, REPORT_SQL, params)
+    );
+    assertEquals(Arrays.asList("o%", 10, 0), params);
+  }
+
+  @Test
+  public void testNegativeLimit() {
+    assertThrows(IllegalArgumentException.class, () -> ReportQuery.builder().limit(-1));
+  }
+}
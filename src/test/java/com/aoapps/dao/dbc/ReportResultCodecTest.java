@@ -0,0 +1,231 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.aoapps.dao.Report;
+import com.aoapps.dao.dbc.QueryReport.QueryColumn;
+import com.aoapps.dao.dbc.QueryReport.ReportResult;
+import com.aoapps.dbc.Database;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Round-trips {@link ReportResult} through {@link ReportResultCodec}.
+ */
+public class ReportResultCodecTest {
+
+  private static QueryReport newReport(boolean columnar) {
+    return new QueryReport((Database) null, "test", "SELECT 1") {
+      @Override
+      public String getTitle() {
+        return "Test";
+      }
+
+      @Override
+      public String getDescription() {
+        return "Test";
+      }
+
+      @Override
+      public boolean isColumnar() {
+        return columnar;
+      }
+    };
+  }
+
+  private static ReportResult newResult(QueryReport report, List<List<Object>> rows) {
+    List<QueryColumn> columns = Arrays.asList(
+        new QueryColumn(report, "id", Report.Alignment.right, Types.INTEGER),
+        new QueryColumn(report, "total", Report.Alignment.right, Types.BIGINT),
+        new QueryColumn(report, "ratio", Report.Alignment.right, Types.DOUBLE),
+        new QueryColumn(report, "status", Report.Alignment.left, Types.VARCHAR),
+        new QueryColumn(report, "other", Report.Alignment.left, Types.OTHER)
+    );
+    return new ReportResult(Collections.unmodifiableList(columns), Collections.unmodifiableList(rows));
+  }
+
+  private static List<List<Object>> sampleRows() {
+    List<List<Object>> rows = new ArrayList<>();
+    rows.add(Arrays.asList(1, 10L, 0.5, "open", "text"));
+    rows.add(Arrays.asList(null, null, null, null, null));
+    rows.add(Arrays.asList(-3, Long.MIN_VALUE, Double.NaN, "closed", 42));
+    rows.add(Arrays.asList(Integer.MAX_VALUE, Long.MAX_VALUE, -0.0, "open", new BigDecimal("123.4500")));
+    return rows;
+  }
+
+  private static byte[] write(ReportResult result, boolean compress) throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    result.writeTo(bout, compress);
+    return bout.toByteArray();
+  }
+
+  private static ReportResult read(QueryReport report, byte[] bytes) throws IOException {
+    return report.readResult(new ByteArrayInputStream(bytes));
+  }
+
+  private static void assertResultEquals(ReportResult expected, ReportResult actual) {
+    assertEquals(expected.getColumns().size(), actual.getColumns().size());
+    for (int i = 0; i < expected.getColumns().size(); i++) {
+      QueryColumn expectedColumn = expected.getColumns().get(i);
+      QueryColumn actualColumn = actual.getColumns().get(i);
+      assertEquals(expectedColumn.getName(), actualColumn.getName());
+      assertEquals(expectedColumn.getAlignment(), actualColumn.getAlignment());
+      assertEquals(expectedColumn.getType(), actualColumn.getType());
+    }
+    assertEquals(expected.getTableData(), actual.getTableData());
+  }
+
+  private static void assertRoundTrip(boolean columnar, boolean compress, List<List<Object>> rows) throws IOException {
+    QueryReport report = newReport(columnar);
+    ReportResult result = newResult(report, rows);
+    assertResultEquals(result, read(report, write(result, compress)));
+  }
+
+  @Test
+  public void testRoundTripUncompressed() throws IOException {
+    assertRoundTrip(false, false, sampleRows());
+  }
+
+  @Test
+  public void testRoundTripDeflate() throws IOException {
+    assertRoundTrip(false, true, sampleRows());
+  }
+
+  @Test
+  public void testRoundTripColumnar() throws IOException {
+    assertRoundTrip(true, false, sampleRows());
+    assertRoundTrip(true, true, sampleRows());
+  }
+
+  /**
+   * Columnar storage follows the class of the values, not the SQL type, such as an unsigned
+   * {@code INTEGER} read as a {@link Long} or a {@code BIGINT} read as a {@link Short}.
+   */
+  @Test
+  public void testRoundTripColumnarKeepsValueClasses() throws IOException {
+    List<List<Object>> rows = new ArrayList<>();
+    rows.add(Arrays.asList(4_000_000_000L, (short) 1, 0.5f, "open", null));
+    rows.add(Arrays.asList(null, (short) -1, null, null, null));
+    assertRoundTrip(true, false, rows);
+  }
+
+  @Test
+  public void testRoundTripEmpty() throws IOException {
+    assertRoundTrip(false, false, new ArrayList<>());
+    assertRoundTrip(false, true, new ArrayList<>());
+  }
+
+  @Test
+  public void testRoundTripAllNulls() throws IOException {
+    List<List<Object>> rows = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      rows.add(Arrays.asList(null, null, null, null, null));
+    }
+    assertRoundTrip(false, false, rows);
+    assertRoundTrip(true, true, rows);
+  }
+
+  @Test
+  public void testDeflateIsSmallerForRepetitiveData() throws IOException {
+    List<List<Object>> rows = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      rows.add(Arrays.asList(i % 10, 1000L, 1.5, "open", "the same text on every row"));
+    }
+    ReportResult result = newResult(newReport(false), rows);
+    assertTrue(write(result, true).length < write(result, false).length);
+  }
+
+  @Test
+  public void testDictionaryOverflow() throws IOException {
+    // More distinct strings than fit in a dictionary
+    int numRows = (1 << 16) + 100;
+    List<List<Object>> rows = new ArrayList<>(numRows);
+    for (int i = 0; i < numRows; i++) {
+      rows.add(Arrays.asList(i, null, null, (i % 1000 == 0) ? null : ("value-" + i), null));
+    }
+    assertRoundTrip(false, false, rows);
+    assertRoundTrip(false, true, rows);
+  }
+
+  @Test
+  public void testRejectsBadMagic() throws IOException {
+    QueryReport report = newReport(false);
+    byte[] bytes = write(newResult(report, sampleRows()), false);
+    bytes[0] = 'X';
+    assertThrows(InvalidObjectException.class, () -> read(report, bytes));
+  }
+
+  @Test
+  public void testRejectsBadVersion() throws IOException {
+    QueryReport report = newReport(false);
+    byte[] bytes = write(newResult(report, sampleRows()), false);
+    bytes[4] = ReportResultCodec.VERSION + 1;
+    assertThrows(InvalidObjectException.class, () -> read(report, bytes));
+  }
+
+  @Test
+  public void testRejectsBadCompression() throws IOException {
+    QueryReport report = newReport(false);
+    byte[] bytes = write(newResult(report, sampleRows()), false);
+    bytes[5] = 99;
+    assertThrows(InvalidObjectException.class, () -> read(report, bytes));
+  }
+
+  @Test
+  public void testRejectsTruncatedHeader() {
+    QueryReport report = newReport(false);
+    assertThrows(InvalidObjectException.class, () -> read(report, new byte[] {'A', 'O', 'R'}));
+  }
+
+  @Test
+  public void testRejectsTruncatedPayload() throws IOException {
+    QueryReport report = newReport(false);
+    byte[] bytes = write(newResult(report, sampleRows()), false);
+    for (int length = 6; length < bytes.length; length += 7) {
+      byte[] truncated = Arrays.copyOf(bytes, length);
+      assertThrows(InvalidObjectException.class, () -> read(report, truncated));
+    }
+  }
+
+  @Test
+  public void testRejectsTruncatedDeflate() throws IOException {
+    QueryReport report = newReport(false);
+    byte[] bytes = write(newResult(report, sampleRows()), true);
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+    assertThrows(IOException.class, () -> read(report, truncated));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the SQL wrapped around report queries by {@link ReportSql} and {@link ReportDialect}.
+ */
+public class ReportSqlTest {
+
+  @Test
+  public void testWrap() {
+    assertEquals(
+        "SELECT * FROM (\nSELECT id FROM t\n) report_",
+        ReportSql.wrap("SELECT id FROM t", "*").toString()
+    );
+  }
+
+  @Test
+  public void testWrapRemovesTrailingSemicolons() {
+    assertEquals(
+        "SELECT * FROM (\nSELECT id FROM t\n) report_",
+        ReportSql.wrap("SELECT id FROM t ; ;\n", "*").toString()
+    );
+  }
+
+  /**
+   * A trailing line comment ends with the line of the report query.
+   */
+  @Test
+  public void testWrapTrailingComment() {
+    assertEquals(
+        "SELECT \"id\" FROM (\nSELECT id FROM t -- comment\n) report_",
+        ReportSql.wrap("SELECT id FROM t -- comment", "\"id\"").toString()
+    );
+  }
+
+  @Test
+  public void testConcat() {
+    Object[] params = {1, "a"};
+    assertSame(params, ReportSql.concat(params));
+    assertArrayEquals(new Object[] {1, "a", 2, null}, ReportSql.concat(params, 2, null));
+  }
+
+  @Test
+  public void testAnsiQuoteIdentifier() {
+    assertEquals("\"id\"", ReportDialect.ANSI.quoteIdentifier("id"));
+    assertEquals("\"say \"\"hi\"\"\"", ReportDialect.ANSI.quoteIdentifier("say \"hi\""));
+    assertEquals("\"back`tick\"", ReportDialect.ANSI.quoteIdentifier("back`tick"));
+  }
+
+  @Test
+  public void testMysqlQuoteIdentifier() {
+    assertEquals("`id`", ReportDialect.MYSQL.quoteIdentifier("id"));
+    assertEquals("`back``tick`", ReportDialect.MYSQL.quoteIdentifier("back`tick"));
+    assertEquals("`say \"hi\"`", ReportDialect.MYSQL.quoteIdentifier("say \"hi\""));
+  }
+
+  @Test
+  public void testInvalidIdentifiers() {
+    assertThrows(IllegalArgumentException.class, () -> ReportDialect.ANSI.quoteIdentifier(""));
+    assertThrows(IllegalArgumentException.class, () -> ReportDialect.ANSI.quoteIdentifier("a\0b"));
+  }
+
+  @Test
+  public void testAppendIdentifiers() {
+    assertEquals(
+        "\"a\", \"b\"",
+        ReportDialect.ANSI.appendIdentifiers(new StringBuilder(), Arrays.asList("a", "b")).toString()
+    );
+  }
+
+  @Test
+  public void testAnsiPaging() {
+    StringBuilder sql = new StringBuilder("SELECT 1");
+    List<Object> params = new ArrayList<>();
+    ReportDialect.ANSI.appendPaging(sql, params, 20, 10);
+    assertEquals("SELECT 1\nOFFSET ? ROWS FETCH NEXT ? ROWS ONLY", sql.toString());
+    assertEquals(Arrays.asList(20, 10), params);
+  }
+
+  @Test
+  public void testMysqlPaging() {
+    StringBuilder sql = new StringBuilder("SELECT 1");
+    List<Object> params = new ArrayList<>();
+    ReportDialect.MYSQL.appendPaging(sql, params, 20, 10);
+    assertEquals("SELECT 1\nLIMIT ? OFFSET ?", sql.toString());
+    assertEquals(Arrays.asList(10, 20), params);
+  }
+}
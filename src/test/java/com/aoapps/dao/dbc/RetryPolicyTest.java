@@ -0,0 +1,142 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Tests the backoff and classification of failures by {@link RetryPolicy}.
+ */
+public class RetryPolicyTest {
+
+  private static final int SAMPLES = 1000;
+
+  /**
+   * Gets the largest of many backoffs, checking each is within the given limit, in milliseconds.
+   */
+  private static long maxBackoffNanos(RetryPolicy policy, int retry, long limit) {
+    long limitNanos = TimeUnit.MILLISECONDS.toNanos(limit);
+    long max = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      long backoff = policy.getBackoffNanos(retry);
+      assertTrue(backoff >= 0);
+      assertTrue(backoff <= limitNanos);
+      max = Math.max(max, backoff);
+    }
+    return max;
+  }
+
+  @Test
+  public void testBackoffDoubles() {
+    RetryPolicy policy = new RetryPolicy(10, 10, 1000);
+    assertTrue(maxBackoffNanos(policy, 1, 10) > TimeUnit.MILLISECONDS.toNanos(5));
+    assertTrue(maxBackoffNanos(policy, 2, 20) > TimeUnit.MILLISECONDS.toNanos(10));
+    assertTrue(maxBackoffNanos(policy, 4, 80) > TimeUnit.MILLISECONDS.toNanos(40));
+  }
+
+  @Test
+  public void testBackoffLimited() {
+    RetryPolicy policy = new RetryPolicy(100, 10, 100);
+    maxBackoffNanos(policy, 5, 100);
+    maxBackoffNanos(policy, 100, 100);
+    maxBackoffNanos(policy, Integer.MAX_VALUE, 100);
+  }
+
+  @Test
+  public void testNoBackoff() {
+    RetryPolicy policy = new RetryPolicy(3, 0, 0);
+    assertEquals(0, policy.getBackoffNanos(1));
+    assertEquals(0, policy.getBackoffNanos(2));
+  }
+
+  /**
+   * Doubling does not overflow on the way to a very large maximum.
+   */
+  @Test
+  public void testBackoffHugeMaximum() {
+    RetryPolicy policy = new RetryPolicy(100, 1, Long.MAX_VALUE);
+    for (int retry = 1; retry <= 100; retry++) {
+      assertTrue(policy.getBackoffNanos(retry) >= 0);
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(0, 10, 100));
+    assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, -1, 100));
+    assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, 100, 10));
+  }
+
+  @Test
+  public void testDefaultSqlStates() {
+    RetryPolicy policy = new RetryPolicy(3, 10, 100);
+    assertTrue(policy.isRetryable(new SQLException("Serialization failure", RetryPolicy.SERIALIZATION_FAILURE)));
+    assertTrue(policy.isRetryable(new SQLException("Deadlock detected", RetryPolicy.DEADLOCK_DETECTED)));
+    assertFalse(policy.isRetryable(new SQLException("Unique violation", "23505")));
+    assertFalse(policy.isRetryable(new SQLException("No state")));
+  }
+
+  @Test
+  public void testCustomSqlStates() {
+    RetryPolicy policy = new RetryPolicy(3, 10, 100, Collections.singleton("55P03"));
+    assertTrue(policy.isRetryable(new SQLException("Lock not available", "55P03")));
+    assertFalse(policy.isRetryable(new SQLException("Serialization failure", RetryPolicy.SERIALIZATION_FAILURE)));
+  }
+
+  /**
+   * A rollback exception is only retried by its class when it does not have a SQL state.
+   */
+  @Test
+  public void testTransactionRollbackException() {
+    RetryPolicy policy = new RetryPolicy(3, 10, 100);
+    assertTrue(policy.isRetryable(new SQLTransactionRollbackException("Rolled back")));
+    assertFalse(policy.isRetryable(new SQLTransactionRollbackException("Rolled back", "40002")));
+  }
+
+  @Test
+  public void testChainedException() {
+    RetryPolicy policy = new RetryPolicy(3, 10, 100);
+    SQLException e = new SQLException("Batch failed", "XX000");
+    e.setNextException(new SQLException("Other", "22000"));
+    assertFalse(policy.isRetryable(e));
+    e.setNextException(new SQLException("Serialization failure", RetryPolicy.SERIALIZATION_FAILURE));
+    assertTrue(policy.isRetryable(e));
+  }
+
+  @Test
+  public void testCause() {
+    RetryPolicy policy = new RetryPolicy(3, 10, 100);
+    SQLException cause = new SQLException("Deadlock detected", RetryPolicy.DEADLOCK_DETECTED);
+    assertTrue(policy.isRetryable(new SQLException("Wrapped", "XX000", cause)));
+    assertTrue(policy.isRetryable(new SQLException(new RuntimeException(cause))));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Reads rows ahead on another thread with {@link RowPrefetcher}.
+ */
+public class RowPrefetcherTest {
+
+  private static final Executor NEW_THREAD = task -> new Thread(task).start();
+
+  /**
+   * Rows with a single value, counting from zero, that fail with a given exception instead of reading
+   * the row at {@code failAt}.
+   */
+  private static class CountingRows implements RowPrefetcher.Rows {
+
+    private final int numRows;
+    private final int failAt;
+    private final SQLException failure;
+    private int row = -1;
+
+    private CountingRows(int numRows, int failAt, SQLException failure) {
+      this.numRows = numRows;
+      this.failAt = failAt;
+      this.failure = failure;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+      row++;
+      if (row == failAt) {
+        throw failure;
+      }
+      return row < numRows;
+    }
+
+    @Override
+    public List<Object> getRow() {
+      return Collections.singletonList(row);
+    }
+
+    @Override
+    public void cancel() {
+      // Nothing to cancel
+    }
+  }
+
+  private static List<Object> handleAll(RowPrefetcher.Rows rows) throws SQLException {
+    List<Object> handled = new ArrayList<>();
+    RowPrefetcher.forEach(rows, 3, 2, NEW_THREAD, row -> handled.add(row.get(0)));
+    return handled;
+  }
+
+  @Test
+  public void testRowsInOrder() throws SQLException {
+    List<Object> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, handleAll(new CountingRows(100, -1, null)));
+  }
+
+  @Test
+  public void testNoRows() throws SQLException {
+    assertEquals(Collections.emptyList(), handleAll(new CountingRows(0, -1, null)));
+  }
+
+  /**
+   * A limit exceeded while reading ahead reaches the caller as the same exception, not a plain
+   * {@link SQLException}.
+   */
+  @Test
+  public void testKeepsFailureType() {
+    ReportLimitException limit = new ReportLimitException("Too many rows", ReportLimitException.LIMIT_SQL_STATE);
+    ReportLimitException thrown = assertThrows(
+        ReportLimitException.class,
+        () -> handleAll(new CountingRows(100, 50, limit))
+    );
+    assertSame(limit, thrown);
+  }
+
+  /**
+   * A failing handler cancels the query instead of waiting for a row that is still being fetched.
+   */
+  @Test
+  public void testCancelsWhenHandlerFails() throws InterruptedException {
+    CountDownLatch cancelled = new CountDownLatch(1);
+    RowPrefetcher.Rows rows = new CountingRows(100, -1, null) {
+      @Override
+      public boolean next() throws SQLException {
+        boolean hasRow = super.next();
+        if (getRow().get(0).equals(3)) {
+          // A slow fetch, only ended by cancelling
+          try {
+            if (!cancelled.await(10, TimeUnit.SECONDS)) {
+              throw new AssertionError("Not cancelled");
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+          }
+          throw new SQLException("Query cancelled", ReportLimitException.TIMEOUT_SQL_STATE);
+        }
+        return hasRow;
+      }
+
+      @Override
+      public void cancel() {
+        cancelled.countDown();
+      }
+    };
+    SQLException handlerFailure = new SQLException("Handler failed");
+    SQLException thrown = assertThrows(
+        SQLException.class,
+        () -> RowPrefetcher.forEach(rows, 3, 2, NEW_THREAD, row -> {
+          throw handlerFailure;
+        })
+    );
+    assertSame(handlerFailure, thrown);
+    assertTrue(cancelled.await(0, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * ao-dao-dbc - Simple data access objects framework implementation leveraging ao-dbc.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-dbc.
+ *
+ * ao-dao-dbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-dbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-dbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.dbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Writes rows to {@link SpillTableData} and reads them back.
+ */
+public class SpillTableDataTest {
+
+  /**
+   * A value outside the {@code java.*} packages, like the objects of some drivers.
+   */
+  private static final class DriverObject {
+    @Override
+    public String toString() {
+      return "driver";
+    }
+  }
+
+  private static final List<String> COLUMN_CLASS_NAMES = Arrays.asList(
+      Integer.class.getName(),
+      String.class.getName(),
+      Object.class.getName()
+  );
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    List<List<Object>> rows = Arrays.asList(
+        Arrays.asList(1, "open", new BigDecimal("1.50")),
+        Arrays.asList(null, null, null),
+        Arrays.asList(-2, "closed", Arrays.asList(1, 2, 3))
+    );
+    try (SpillTableData.Builder builder = new SpillTableData.Builder(COLUMN_CLASS_NAMES)) {
+      for (List<Object> row : rows) {
+        assertTrue(builder.addRow(row));
+      }
+      SpillTableData tableData = builder.build();
+      assertEquals(rows, tableData);
+      assertTrue(tableData.getFileSize() > 0);
+    }
+  }
+
+  /**
+   * Values decode to the class of their column, such as an unsigned {@code INTEGER} read as a {@link Long}.
+   */
+  @Test
+  public void testKeepsValueClasses() throws IOException {
+    List<String> classNames = Arrays.asList(Long.class.getName(), Short.class.getName());
+    List<List<Object>> rows = Arrays.asList(
+        Arrays.asList(4_000_000_000L, (short) 1),
+        Arrays.asList(null, (short) -1)
+    );
+    try (SpillTableData.Builder builder = new SpillTableData.Builder(classNames)) {
+      for (List<Object> row : rows) {
+        assertTrue(builder.addRow(row));
+      }
+      assertEquals(rows, builder.build());
+    }
+  }
+
+  @Test
+  public void testUnencodableRowNotAdded() throws IOException {
+    try (SpillTableData.Builder builder = new SpillTableData.Builder(COLUMN_CLASS_NAMES)) {
+      assertTrue(builder.addRow(Arrays.asList(1, "open", "text")));
+      assertFalse(builder.addRow(Arrays.asList(2, "open", new DriverObject())));
+      assertFalse(builder.addRow(Arrays.asList(3, "open", Arrays.asList(new DriverObject()))));
+      assertEquals(Arrays.asList(Arrays.asList(1, "open", "text")), builder.build());
+    }
+  }
+
+  @Test
+  public void testIsEncodable() {
+    assertTrue(ValueCodec.isEncodable(null));
+    assertTrue(ValueCodec.isEncodable(new byte[] {1, 2}));
+    assertTrue(ValueCodec.isEncodable(Arrays.asList("a", null, 1L)));
+    assertFalse(ValueCodec.isEncodable(new DriverObject()));
+  }
+}